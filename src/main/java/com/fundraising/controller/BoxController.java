@@ -1,27 +1,50 @@
 package com.fundraising.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fundraising.dto.AddMoneyRequest;
 import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.BoxPage;
+import com.fundraising.dto.BulkBoxResponse;
+import com.fundraising.dto.BulkDonationResponse;
+import com.fundraising.dto.BulkDonationRow;
 import com.fundraising.dto.CreateBoxRequest;
 import com.fundraising.exception.BoxNotFoundException;
 import com.fundraising.exception.DuplicateBoxIdentifierException;
 import com.fundraising.service.BoxService;
+import com.fundraising.service.BulkBoxService;
+import com.fundraising.service.BulkDonationService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/boxes")
 public class BoxController {
 
     private final BoxService boxService;
+    private final BulkBoxService bulkBoxService;
+    private final BulkDonationService bulkDonationService;
+    private final ObjectWriter boxWriter;
 
-    public BoxController(BoxService boxService) {
+    public BoxController(BoxService boxService, BulkBoxService bulkBoxService, BulkDonationService bulkDonationService,
+                         ObjectMapper objectMapper) {
         this.boxService = boxService;
+        this.bulkBoxService = bulkBoxService;
+        this.bulkDonationService = bulkDonationService;
+        this.boxWriter = objectMapper.writerFor(BoxDto.class);
     }
 
     @PostMapping
@@ -36,12 +59,43 @@ public class BoxController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkBoxResponse> registerBoxesInBulk(@RequestBody List<String> boxIdentifiers) {
+        BulkBoxResponse response = bulkBoxService.registerBoxes(boxIdentifiers);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk/unregister")
+    public ResponseEntity<BulkBoxResponse> unregisterBoxesInBulk(@RequestBody List<String> boxIdentifiers) {
+        BulkBoxResponse response = bulkBoxService.unregisterBoxes(boxIdentifiers);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<BoxDto>> getAllBoxes() {
         List<BoxDto> boxes = boxService.getAllBoxes();
         return ResponseEntity.ok(boxes);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<BoxPage> getBoxPage(@RequestParam(required = false) Long after,
+                                              @RequestParam(required = false) Integer size) {
+        BoxPage page = boxService.getBoxPage(after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBoxes() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            boxService.streamAllBoxes(box -> writeLine(out, box));
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/{boxId}/assign/{eventId}")
     public ResponseEntity<BoxDto> assignBoxToEvent(@PathVariable Long boxId, @PathVariable Long eventId) {
         BoxDto box = boxService.assignBoxToEvent(boxId, eventId);
@@ -60,12 +114,33 @@ public class BoxController {
         return ResponseEntity.ok(box);
     }
 
+    @PostMapping(value = "/money/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkDonationResponse> addMoneyInBulk(@RequestBody List<BulkDonationRow> rows) {
+        BulkDonationResponse response = bulkDonationService.addDonations(rows);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/money/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkDonationResponse> addMoneyInBulkFromCsv(@RequestBody String csv) {
+        BulkDonationResponse response = bulkDonationService.addDonationsFromCsv(csv);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{boxId}/empty")
     public ResponseEntity<BoxDto> emptyBox(@PathVariable Long boxId) {
         BoxDto box = boxService.emptyBox(boxId);
         return ResponseEntity.ok(box);
     }
 
+    private void writeLine(OutputStream out, BoxDto box) {
+        try {
+            out.write(boxWriter.writeValueAsBytes(box));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @ExceptionHandler(DuplicateBoxIdentifierException.class)
     public ResponseEntity<Map<String, String>> handleDuplicateBoxIdentifier(DuplicateBoxIdentifierException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -1,34 +1,78 @@
 package com.fundraising.controller;
 
 import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.EmptyBoxesResult;
 import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.dto.FundraisingEventReport;
 import com.fundraising.exception.DuplicateEventNameException;
+import com.fundraising.exception.EventNotFoundException;
+import com.fundraising.service.BoxService;
+import com.fundraising.service.EventBalanceStream;
+import com.fundraising.service.EventLeaderboard;
 import com.fundraising.service.FundraisingEventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import reactor.core.publisher.Flux;
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 public class FundraisingEventController {
 
+    static final int MAX_LEADERBOARD_LIMIT = 100;
+    private static final String LIMIT_MESSAGE = "Limit must be between 1 and " + MAX_LEADERBOARD_LIMIT;
+
     @Autowired
     private FundraisingEventService fundraisingEventService;
 
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private EventLeaderboard eventLeaderboard;
+
+    @Autowired
+    private EventBalanceStream eventBalanceStream;
+
     @PostMapping
     public ResponseEntity<FundraisingEventDTO> createEvent(@Valid @RequestBody CreateEventRequest request) {
         FundraisingEventDTO event = fundraisingEventService.createEvent(request);
         return ResponseEntity.ok(event);
     }
 
+    /**
+     * Served from the in-memory leaderboard. The ETag makes Spring answer a matching
+     * If-None-Match with 304 without serialising the body.
+     */
     @GetMapping
     public ResponseEntity<List<FundraisingEventDTO>> getAllEvents() {
-        List<FundraisingEventDTO> events = fundraisingEventService.getAllEvents();
-        return ResponseEntity.ok(events);
+        EventLeaderboard.Snapshot snapshot = eventLeaderboard.snapshot();
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.events());
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<FundraisingEventDTO>> getLeaderboard(
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = LIMIT_MESSAGE) @Max(value = MAX_LEADERBOARD_LIMIT, message = LIMIT_MESSAGE) int limit) {
+        EventLeaderboard.Snapshot snapshot = eventLeaderboard.snapshot();
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.top(limit));
+    }
+
+    @GetMapping("/report")
+    public ResponseEntity<List<FundraisingEventReport>> getFinancialReport() {
+        List<FundraisingEventReport> report = fundraisingEventService.getFinancialReport();
+        return ResponseEntity.ok(report);
     }
 
     @GetMapping("/{id}")
@@ -38,9 +82,37 @@ public class FundraisingEventController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Streams the event's balance as Server-Sent Events until the client disconnects.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<FundraisingEventDTO>>> streamEvent(@PathVariable Long id) {
+        return eventBalanceStream.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/empty-boxes")
+    public ResponseEntity<EmptyBoxesResult> emptyAllBoxes(@PathVariable Long id) {
+        EmptyBoxesResult result = boxService.emptyAllBoxes(id);
+        return ResponseEntity.ok(result);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidParameter(HandlerMethodValidationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getAllErrors().get(0).getDefaultMessage()));
+    }
+
     @ExceptionHandler(DuplicateEventNameException.class)
     public ResponseEntity<Map<String, String>> handleDuplicateEventName(DuplicateEventNameException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(Map.of("error", ex.getMessage()));
     }
+
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleEventNotFound(EventNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+    }
 }
\ No newline at end of file
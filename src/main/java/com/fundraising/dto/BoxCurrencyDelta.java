@@ -0,0 +1,25 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.Currency;
+import java.math.BigDecimal;
+
+/**
+ * Amount to add to a box's balance in one currency
+ */
+public class BoxCurrencyDelta {
+    private final Long boxId;
+    private final Currency currency;
+    private final BigDecimal amount;
+
+    public BoxCurrencyDelta(Long boxId, Currency currency, BigDecimal amount) {
+        this.boxId = boxId;
+        this.currency = currency;
+        this.amount = amount;
+    }
+
+    public Long getBoxId() { return boxId; }
+
+    public Currency getCurrency() { return currency; }
+
+    public BigDecimal getAmount() { return amount; }
+}
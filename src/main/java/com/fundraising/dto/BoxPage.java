@@ -0,0 +1,21 @@
+package com.fundraising.dto;
+
+import java.util.List;
+
+public class BoxPage {
+    private List<BoxDto> boxes;
+    private Long nextCursor;  // ID to pass as 'after' for the next page, null on the last page
+
+    public BoxPage() {}
+
+    public BoxPage(List<BoxDto> boxes, Long nextCursor) {
+        this.boxes = boxes;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BoxDto> getBoxes() { return boxes; }
+    public void setBoxes(List<BoxDto> boxes) { this.boxes = boxes; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
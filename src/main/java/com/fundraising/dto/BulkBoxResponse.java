@@ -0,0 +1,26 @@
+package com.fundraising.dto;
+
+import java.util.List;
+
+public class BulkBoxResponse {
+    private int applied;
+    private int rejected;
+    private List<BulkBoxResult> results;
+
+    public BulkBoxResponse() {}
+
+    public BulkBoxResponse(int applied, int rejected, List<BulkBoxResult> results) {
+        this.applied = applied;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<BulkBoxResult> getResults() { return results; }
+    public void setResults(List<BulkBoxResult> results) { this.results = results; }
+}
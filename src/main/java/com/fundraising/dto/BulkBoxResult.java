@@ -0,0 +1,36 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.BulkRowStatus;
+
+public class BulkBoxResult {
+    private int row;  // 1-based position of the identifier in the request
+    private String boxIdentifier;
+    private Long boxId;
+    private BulkRowStatus status;
+    private String error;
+
+    public BulkBoxResult() {}
+
+    public BulkBoxResult(int row, String boxIdentifier, Long boxId, BulkRowStatus status, String error) {
+        this.row = row;
+        this.boxIdentifier = boxIdentifier;
+        this.boxId = boxId;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+
+    public String getBoxIdentifier() { return boxIdentifier; }
+    public void setBoxIdentifier(String boxIdentifier) { this.boxIdentifier = boxIdentifier; }
+
+    public Long getBoxId() { return boxId; }
+    public void setBoxId(Long boxId) { this.boxId = boxId; }
+
+    public BulkRowStatus getStatus() { return status; }
+    public void setStatus(BulkRowStatus status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
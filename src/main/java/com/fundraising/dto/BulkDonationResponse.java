@@ -0,0 +1,26 @@
+package com.fundraising.dto;
+
+import java.util.List;
+
+public class BulkDonationResponse {
+    private int applied;
+    private int rejected;
+    private List<BulkDonationResult> results;
+
+    public BulkDonationResponse() {}
+
+    public BulkDonationResponse(int applied, int rejected, List<BulkDonationResult> results) {
+        this.applied = applied;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<BulkDonationResult> getResults() { return results; }
+    public void setResults(List<BulkDonationResult> results) { this.results = results; }
+}
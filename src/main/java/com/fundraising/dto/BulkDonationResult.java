@@ -0,0 +1,31 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.BulkRowStatus;
+
+public class BulkDonationResult {
+    private int row;  // 1-based position of the row in the upload, header excluded
+    private String boxIdentifier;
+    private BulkRowStatus status;
+    private String error;
+
+    public BulkDonationResult() {}
+
+    public BulkDonationResult(int row, String boxIdentifier, BulkRowStatus status, String error) {
+        this.row = row;
+        this.boxIdentifier = boxIdentifier;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+
+    public String getBoxIdentifier() { return boxIdentifier; }
+    public void setBoxIdentifier(String boxIdentifier) { this.boxIdentifier = boxIdentifier; }
+
+    public BulkRowStatus getStatus() { return status; }
+    public void setStatus(BulkRowStatus status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
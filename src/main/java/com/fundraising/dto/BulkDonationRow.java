@@ -0,0 +1,31 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a counting team's upload: money counted in one box in one currency
+ */
+public class BulkDonationRow {
+    private String boxIdentifier;
+    private Currency currency;
+    private BigDecimal amount;
+
+    public BulkDonationRow() {}
+
+    public BulkDonationRow(String boxIdentifier, Currency currency, BigDecimal amount) {
+        this.boxIdentifier = boxIdentifier;
+        this.currency = currency;
+        this.amount = amount;
+    }
+
+    public String getBoxIdentifier() { return boxIdentifier; }
+    public void setBoxIdentifier(String boxIdentifier) { this.boxIdentifier = boxIdentifier; }
+
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
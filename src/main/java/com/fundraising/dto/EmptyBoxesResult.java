@@ -0,0 +1,40 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.Currency;
+import java.math.BigDecimal;
+
+/**
+ * Outcome of emptying every assigned box of a fundraising event at once
+ */
+public class EmptyBoxesResult {
+    private Long eventId;
+    private int boxesEmptied;
+    private BigDecimal amountTransferred;
+    private BigDecimal balance;
+    private Currency currency;
+
+    public EmptyBoxesResult() {}
+
+    public EmptyBoxesResult(Long eventId, int boxesEmptied, BigDecimal amountTransferred, BigDecimal balance, Currency currency) {
+        this.eventId = eventId;
+        this.boxesEmptied = boxesEmptied;
+        this.amountTransferred = amountTransferred;
+        this.balance = balance;
+        this.currency = currency;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public int getBoxesEmptied() { return boxesEmptied; }
+    public void setBoxesEmptied(int boxesEmptied) { this.boxesEmptied = boxesEmptied; }
+
+    public BigDecimal getAmountTransferred() { return amountTransferred; }
+    public void setAmountTransferred(BigDecimal amountTransferred) { this.amountTransferred = amountTransferred; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+}
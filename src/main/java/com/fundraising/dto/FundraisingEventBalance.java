@@ -0,0 +1,29 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.Currency;
+import java.math.BigDecimal;
+
+/**
+ * Event balance read straight from the database together with the event version
+ */
+public class FundraisingEventBalance {
+    private final Long id;
+    private final String name;
+    private final BigDecimal balance;
+    private final Currency currency;
+    private final long version;
+
+    public FundraisingEventBalance(Long id, String name, BigDecimal balance, Currency currency, Long version) {
+        this.id = id;
+        this.name = name;
+        this.balance = balance;
+        this.currency = currency;
+        this.version = version == null ? 0 : version;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public BigDecimal getBalance() { return balance; }
+    public Currency getCurrency() { return currency; }
+    public long getVersion() { return version; }
+}
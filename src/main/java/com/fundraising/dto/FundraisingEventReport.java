@@ -0,0 +1,54 @@
+package com.fundraising.dto;
+
+import com.fundraising.enums.Currency;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Financial report line of a fundraising event: the balance already transferred to it and
+ * the money still sitting in its assigned boxes, per box currency and converted to the
+ * event currency
+ */
+public class FundraisingEventReport {
+    private Long id;
+    private String name;
+    private Currency currency;
+    private BigDecimal balance;
+    private Map<Currency, BigDecimal> pendingByCurrency;
+    private BigDecimal pendingAmount;
+    private BigDecimal totalAmount;
+
+    public FundraisingEventReport() {}
+
+    public FundraisingEventReport(Long id, String name, Currency currency, BigDecimal balance,
+                                  Map<Currency, BigDecimal> pendingByCurrency, BigDecimal pendingAmount) {
+        this.id = id;
+        this.name = name;
+        this.currency = currency;
+        this.balance = balance;
+        this.pendingByCurrency = pendingByCurrency;
+        this.pendingAmount = pendingAmount;
+        this.totalAmount = balance.add(pendingAmount);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public Map<Currency, BigDecimal> getPendingByCurrency() { return pendingByCurrency; }
+    public void setPendingByCurrency(Map<Currency, BigDecimal> pendingByCurrency) { this.pendingByCurrency = pendingByCurrency; }
+
+    public BigDecimal getPendingAmount() { return pendingAmount; }
+    public void setPendingAmount(BigDecimal pendingAmount) { this.pendingAmount = pendingAmount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
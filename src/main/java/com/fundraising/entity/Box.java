@@ -2,19 +2,27 @@ package com.fundraising.entity;
 
 import com.fundraising.enums.BoxStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "boxes")
+@Table(name = "boxes",
+        indexes = @Index(name = "idx_boxes_assigned_event_status", columnList = "assigned_event_id, status"))
 public class Box {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boxes_seq")
+    @SequenceGenerator(name = "boxes_seq", sequenceName = "boxes_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "box_identifier", nullable = false, unique = true)
     private String boxIdentifier;
 
+    // A VARCHAR column rather than H2's native ENUM: the R2DBC driver binds strings as CLOBs,
+    // which H2 converts to VARCHAR but not to ENUM
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     private BoxStatus status = BoxStatus.AVAILABLE;
 
@@ -22,6 +30,12 @@ public class Box {
     @JoinColumn(name = "assigned_event_id")
     private FundraisingEvent assignedEvent;
 
+    // Number of currencies the box holds money in. Maintained by the repository update
+    // statements that add and remove box_currencies rows, never written from the entity.
+    @ColumnDefault("0")
+    @Column(name = "currency_count", nullable = false, updatable = false)
+    private int currencyCount;
+
     public Box() {}
 
     public Box(String boxIdentifier) {
@@ -40,4 +54,9 @@ public class Box {
 
     public FundraisingEvent getAssignedEvent() { return assignedEvent; }
     public void setAssignedEvent(FundraisingEvent assignedEvent) { this.assignedEvent = assignedEvent; }
+
+    public int getCurrencyCount() { return currencyCount; }
+    public void setCurrencyCount(int currencyCount) { this.currencyCount = currencyCount; }
+
+    public boolean isEmpty() { return currencyCount == 0; }
 }
\ No newline at end of file
@@ -2,21 +2,29 @@ package com.fundraising.entity;
 
 import com.fundraising.enums.Currency;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "box_currencies")
+@Table(name = "box_currencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_box_currencies_box_currency",
+                columnNames = {"box_id", "currency"}),
+        indexes = @Index(name = "idx_box_currencies_box_amount", columnList = "box_id, amount"))
 public class BoxCurrency {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "box_currencies_seq")
+    @SequenceGenerator(name = "box_currencies_seq", sequenceName = "box_currencies_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
     @JoinColumn(name = "box_id", nullable = false)
     private Box box;
 
+    // VARCHAR instead of native ENUM so the reactive profile's R2DBC writes can bind it (see Box.status)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     private Currency currency;
 
@@ -0,0 +1,79 @@
+package com.fundraising.entity;
+
+import com.fundraising.enums.Currency;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Money moved from boxes to an event's balance, with the rate snapshot it was converted
+ * with (null when the static rates were used).
+ */
+@Entity
+@Table(name = "box_transfers",
+        indexes = @Index(name = "idx_box_transfers_event", columnList = "event_id"))
+public class BoxTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Not a foreign key: unregistered boxes are deleted, their transfers are kept.
+    // Null when all boxes of the event were emptied at once.
+    @Column(name = "box_id")
+    private Long boxId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private FundraisingEvent event;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // VARCHAR instead of native ENUM so the reactive profile's R2DBC writes can bind it (see Box.status)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    private Currency currency;
+
+    @Column(name = "rate_snapshot_id")
+    private Long rateSnapshotId;
+
+    @Column(name = "transferred_at", nullable = false)
+    private Instant transferredAt;
+
+    public BoxTransfer() {}
+
+    public BoxTransfer(Long boxId, FundraisingEvent event, BigDecimal amount, Currency currency,
+                       Long rateSnapshotId, Instant transferredAt) {
+        this.boxId = boxId;
+        this.event = event;
+        this.amount = amount;
+        this.currency = currency;
+        this.rateSnapshotId = rateSnapshotId;
+        this.transferredAt = transferredAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBoxId() { return boxId; }
+    public void setBoxId(Long boxId) { this.boxId = boxId; }
+
+    public FundraisingEvent getEvent() { return event; }
+    public void setEvent(FundraisingEvent event) { this.event = event; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Currency getCurrency() { return currency; }
+    public void setCurrency(Currency currency) { this.currency = currency; }
+
+    public Long getRateSnapshotId() { return rateSnapshotId; }
+    public void setRateSnapshotId(Long rateSnapshotId) { this.rateSnapshotId = rateSnapshotId; }
+
+    public Instant getTransferredAt() { return transferredAt; }
+    public void setTransferredAt(Instant transferredAt) { this.transferredAt = transferredAt; }
+}
@@ -0,0 +1,34 @@
+package com.fundraising.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Donation journal segment whose deltas have been applied to box_currencies.
+ * Written in the same transaction as the deltas so replaying the journal after
+ * a crash never applies a segment twice.
+ */
+@Entity
+@Table(name = "donation_journal_segments")
+public class DonationJournalSegment {
+
+    @Id
+    @Column(name = "segment_name")
+    private String segmentName;
+
+    @Column(name = "applied_at", nullable = false)
+    private Instant appliedAt;
+
+    public DonationJournalSegment() {}
+
+    public DonationJournalSegment(String segmentName, Instant appliedAt) {
+        this.segmentName = segmentName;
+        this.appliedAt = appliedAt;
+    }
+
+    public String getSegmentName() { return segmentName; }
+    public void setSegmentName(String segmentName) { this.segmentName = segmentName; }
+
+    public Instant getAppliedAt() { return appliedAt; }
+    public void setAppliedAt(Instant appliedAt) { this.appliedAt = appliedAt; }
+}
@@ -0,0 +1,60 @@
+package com.fundraising.entity;
+
+import com.fundraising.enums.Currency;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate table of one base currency as fetched from the exchange rate API. Snapshots are
+ * never updated, so a transfer that records the snapshot it used can be reproduced.
+ */
+@Entity
+@Table(name = "exchange_rate_snapshots",
+        indexes = @Index(name = "idx_exchange_rate_snapshots_base_fetched", columnList = "base_currency, fetched_at"))
+public class ExchangeRateSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // VARCHAR instead of native ENUM so the reactive profile's R2DBC writes can bind it (see Box.status)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "base_currency", nullable = false)
+    private Currency baseCurrency;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    // Rates from the base currency, keyed by target currency code
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "exchange_rate_snapshot_rates", joinColumns = @JoinColumn(name = "snapshot_id"))
+    @MapKeyColumn(name = "currency", length = 3)
+    @Column(name = "rate", nullable = false, precision = 19, scale = 8)
+    private Map<String, BigDecimal> rates = new HashMap<>();
+
+    public ExchangeRateSnapshot() {}
+
+    public ExchangeRateSnapshot(Currency baseCurrency, Instant fetchedAt, Map<String, BigDecimal> rates) {
+        this.baseCurrency = baseCurrency;
+        this.fetchedAt = fetchedAt;
+        this.rates = new HashMap<>(rates);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Currency getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(Currency baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public Instant getFetchedAt() { return fetchedAt; }
+    public void setFetchedAt(Instant fetchedAt) { this.fetchedAt = fetchedAt; }
+
+    public Map<String, BigDecimal> getRates() { return rates; }
+    public void setRates(Map<String, BigDecimal> rates) { this.rates = rates; }
+}
@@ -2,6 +2,8 @@ package com.fundraising.entity;
 
 import com.fundraising.enums.Currency;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.math.BigDecimal;
 
 @Entity
@@ -10,7 +12,8 @@ import java.math.BigDecimal;
 public class FundraisingEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fundraising_events_seq")
+    @SequenceGenerator(name = "fundraising_events_seq", sequenceName = "fundraising_events_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -19,10 +22,15 @@ public class FundraisingEvent {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // VARCHAR instead of native ENUM so the reactive profile's R2DBC writes can bind it (see Box.status)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     private Currency currency;
 
+    @Version
+    private Long version;
+
     public FundraisingEvent() {}
 
     public FundraisingEvent(String name, Currency currency) {
@@ -42,4 +50,7 @@ public class FundraisingEvent {
 
     public Currency getCurrency() { return currency; }
     public void setCurrency(Currency currency) { this.currency = currency; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
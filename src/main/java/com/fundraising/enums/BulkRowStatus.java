@@ -0,0 +1,6 @@
+package com.fundraising.enums;
+
+public enum BulkRowStatus {
+    APPLIED,
+    REJECTED
+}
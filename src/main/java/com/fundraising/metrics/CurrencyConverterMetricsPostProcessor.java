@@ -0,0 +1,30 @@
+package com.fundraising.metrics;
+
+import com.fundraising.service.CurrencyConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every {@link CurrencyConverter} bean in a {@link MeteredCurrencyConverter}, so
+ * conversions are counted per converter without the converters knowing about metrics.
+ */
+@Component
+public class CurrencyConverterMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Resolved lazily: post-processors are created before the registry exists
+    public CurrencyConverterMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof CurrencyConverter converter) {
+            return new MeteredCurrencyConverter(converter, beanName, meterRegistry.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,43 @@
+package com.fundraising.metrics;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.enums.Currency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts accepted donations and the donated amount per currency. The counters are
+ * resolved once up front, so a donation costs two counter increments and no lookups.
+ */
+@Aspect
+@Component
+public class DonationMetricsAspect {
+
+    private final Map<Currency, Counter> donations = new EnumMap<>(Currency.class);
+    private final Map<Currency, Counter> donatedAmounts = new EnumMap<>(Currency.class);
+
+    public DonationMetricsAspect(MeterRegistry meterRegistry) {
+        for (Currency currency : Currency.values()) {
+            donations.put(currency, Counter.builder("donations")
+                    .description("Donations added to boxes")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry));
+            donatedAmounts.put(currency, Counter.builder("donations.amount")
+                    .description("Money added to boxes, in the donation currency")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @AfterReturning("execution(* com.fundraising.service.BoxService.addMoneyToBox(..)) && args(boxId, request)")
+    public void countDonation(Long boxId, AddMoneyRequest request) {
+        donations.get(request.getCurrency()).increment();
+        donatedAmounts.get(request.getCurrency()).increment(request.getAmount().doubleValue());
+    }
+}
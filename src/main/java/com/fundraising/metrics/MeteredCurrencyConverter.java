@@ -0,0 +1,51 @@
+package com.fundraising.metrics;
+
+import com.fundraising.enums.Currency;
+import com.fundraising.service.CurrencyConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Counts the calls made to one currency converter bean as {@code currency.conversions},
+ * tagged with the bean name.
+ */
+class MeteredCurrencyConverter implements CurrencyConverter {
+
+    private final CurrencyConverter delegate;
+    private final Counter conversions;
+
+    MeteredCurrencyConverter(CurrencyConverter delegate, String converterName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.conversions = Counter.builder("currency.conversions")
+                .description("Currency conversions by converter")
+                .tag("converter", converterName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BigDecimal convert(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+        conversions.increment();
+        return delegate.convert(amount, fromCurrency, toCurrency);
+    }
+
+    @Override
+    public BigDecimal convertAll(Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+        conversions.increment();
+        return delegate.convertAll(amounts, toCurrency);
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> convertAsync(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+        conversions.increment();
+        return delegate.convertAsync(amount, fromCurrency, toCurrency);
+    }
+
+    @Override
+    public CompletableFuture<Void> loadRates(Currency toCurrency) {
+        return delegate.loadRates(toCurrency);
+    }
+}
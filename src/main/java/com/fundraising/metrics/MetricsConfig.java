@@ -0,0 +1,28 @@
+package com.fundraising.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records the {@code @Timed} service methods
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Records the statements counted by {@link StatementCountingPostProcessor}'s connections per request
+     */
+    @Bean
+    @ConditionalOnProperty(name = "metrics.statement-count.enabled", havingValue = "true")
+    public RequestStatementCountFilter requestStatementCountFilter(MeterRegistry meterRegistry) {
+        return new RequestStatementCountFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.fundraising.metrics;
+
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the money sitting in boxes that were not emptied yet as {@code boxes.outstanding.amount},
+ * per currency. The totals come from one GROUP BY query run on a schedule rather than on every scrape.
+ */
+@Component
+public class OutstandingMoneyGauge {
+
+    private final BoxCurrencyRepository boxCurrencyRepository;
+    private final Map<Currency, Double> outstanding = new ConcurrentHashMap<>();
+
+    public OutstandingMoneyGauge(BoxCurrencyRepository boxCurrencyRepository, MeterRegistry meterRegistry) {
+        this.boxCurrencyRepository = boxCurrencyRepository;
+        for (Currency currency : Currency.values()) {
+            outstanding.put(currency, 0.0);
+            Gauge.builder("boxes.outstanding.amount", outstanding, values -> values.get(currency))
+                    .description("Money in boxes that were not emptied yet, in the box currency")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.outstanding-money.refresh-ms:30000}")
+    public void refresh() {
+        Map<Currency, Double> totals = new EnumMap<>(Currency.class);
+        for (Currency currency : Currency.values()) {
+            totals.put(currency, 0.0);
+        }
+        for (Object[] row : boxCurrencyRepository.sumAmountsByCurrency()) {
+            totals.put((Currency) row[0], ((BigDecimal) row[1]).doubleValue());
+        }
+        outstanding.putAll(totals);
+    }
+}
@@ -0,0 +1,82 @@
+package com.fundraising.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements run on the current thread, so that {@link RequestStatementCountFilter}
+ * can report how many statements each request ran. Counting happens on the JDBC connections of the
+ * wrapped {@link DataSource}, so statements sent by Hibernate and by {@code JdbcTemplate} are both
+ * included: every prepared or callable statement counts once, however often it is executed
+ * (a JDBC batch counts as one), and every execution of a plain statement counts once.
+ */
+public class StatementCounter extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Set<String> PREPARING = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementCounter(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    static int current() {
+        return COUNT.get()[0];
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (PREPARING.contains(method.getName())) {
+                COUNT.get()[0]++;
+            } else if (method.getName().equals("createStatement")) {
+                return proxy(Statement.class, (Statement) result, (statementMethod, statementResult) -> {
+                    if (EXECUTING.contains(statementMethod.getName())) {
+                        COUNT.get()[0]++;
+                    }
+                    return statementResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return interceptor.after(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object after(Method method, Object result);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fundraising.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the {@link DataSource} beans in a {@link StatementCounter}, so the per-request statement
+ * counts cover JDBC access from JPA and from {@code JdbcTemplate} alike. Only registered with
+ * {@code metrics.statement-count.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "metrics.statement-count.enabled", havingValue = "true")
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementCounter)) {
+            return new StatementCounter(dataSource);
+        }
+        return bean;
+    }
+}
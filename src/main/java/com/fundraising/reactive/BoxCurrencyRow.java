@@ -0,0 +1,13 @@
+package com.fundraising.reactive;
+
+import com.fundraising.enums.Currency;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC view of a {@code box_currencies} row
+ */
+@Table("box_currencies")
+public record BoxCurrencyRow(@Id Long id, Long boxId, Currency currency, BigDecimal amount) {}
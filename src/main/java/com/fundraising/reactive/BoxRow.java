@@ -0,0 +1,18 @@
+package com.fundraising.reactive;
+
+import com.fundraising.enums.BoxStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC view of a {@code boxes} row. The currency count is maintained by
+ * {@link ReactiveBoxRepository#adjustCurrencyCount}, so rows are only ever inserted
+ * through {@code save}, never updated with it.
+ */
+@Table("boxes")
+public record BoxRow(@Id Long id, String boxIdentifier, BoxStatus status, Long assignedEventId, int currencyCount) {
+
+    public boolean isEmpty() {
+        return currencyCount == 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fundraising.reactive;
+
+import com.fundraising.enums.Currency;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * R2DBC view of a {@code box_transfers} row
+ */
+@Table("box_transfers")
+public record BoxTransferRow(@Id Long id, Long boxId, Long eventId, BigDecimal amount,
+                             Currency currency, Long rateSnapshotId, Instant transferredAt) {}
@@ -0,0 +1,14 @@
+package com.fundraising.reactive;
+
+import com.fundraising.enums.Currency;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC view of a {@code fundraising_events} row
+ */
+@Table("fundraising_events")
+public record FundraisingEventRow(@Id Long id, String name, BigDecimal balance, Currency currency, @Version Long version) {}
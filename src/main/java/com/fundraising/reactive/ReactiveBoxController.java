@@ -0,0 +1,100 @@
+package com.fundraising.reactive;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.exception.BoxNotFoundException;
+import com.fundraising.exception.DuplicateBoxIdentifierException;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Box API of the {@code reactive} profile. Same paths and payloads as
+ * {@link com.fundraising.controller.BoxController}; paging and bulk donations are only
+ * served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/boxes")
+@Profile("reactive")
+public class ReactiveBoxController {
+
+    private final ReactiveBoxService boxService;
+
+    public ReactiveBoxController(ReactiveBoxService boxService) {
+        this.boxService = boxService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<BoxDto>> registerBox(@Valid @RequestBody CreateBoxRequest request) {
+        return boxService.registerBox(request)
+                .map(box -> ResponseEntity.status(HttpStatus.CREATED).body(box));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> unregisterBox(@PathVariable Long id) {
+        return boxService.unregisterBox(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping
+    public Flux<BoxDto> getAllBoxes() {
+        return boxService.getAllBoxes();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BoxDto> streamBoxes() {
+        return boxService.getAllBoxes();
+    }
+
+    @PutMapping("/{boxId}/assign/{eventId}")
+    public Mono<BoxDto> assignBoxToEvent(@PathVariable Long boxId, @PathVariable Long eventId) {
+        return boxService.assignBoxToEvent(boxId, eventId);
+    }
+
+    @PutMapping("/{boxId}/unassign")
+    public Mono<BoxDto> unassignBoxFromEvent(@PathVariable Long boxId) {
+        return boxService.unassignBoxFromEvent(boxId);
+    }
+
+    @PostMapping("/{boxId}/money")
+    public Mono<BoxDto> addMoneyToBox(@PathVariable Long boxId, @Valid @RequestBody AddMoneyRequest request) {
+        return boxService.addMoneyToBox(boxId, request);
+    }
+
+    @PostMapping("/{boxId}/empty")
+    public Mono<BoxDto> emptyBox(@PathVariable Long boxId) {
+        return boxService.emptyBox(boxId);
+    }
+
+    @ExceptionHandler(DuplicateBoxIdentifierException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateBoxIdentifier(DuplicateBoxIdentifierException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(BoxNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleBoxNotFound(BoxNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalState(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getMessage()));
+    }
+}
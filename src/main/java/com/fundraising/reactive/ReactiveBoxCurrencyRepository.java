@@ -0,0 +1,34 @@
+package com.fundraising.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface ReactiveBoxCurrencyRepository extends R2dbcRepository<BoxCurrencyRow, Long> {
+
+    /**
+     * Locks the box's currency rows until the surrounding transaction ends
+     */
+    @Query("SELECT * FROM box_currencies WHERE box_id = :boxId FOR UPDATE")
+    Flux<BoxCurrencyRow> findByBoxIdForUpdate(@Param("boxId") Long boxId);
+
+    /**
+     * @param currency Currency code, cast in the query because the H2 driver binds strings as CLOBs
+     * @return Number of updated rows; 0 when the box holds no money in this currency yet
+     */
+    @Modifying
+    @Query("UPDATE box_currencies SET amount = amount + :amount WHERE box_id = :boxId AND currency = CAST(:currency AS VARCHAR)")
+    Mono<Integer> incrementAmount(@Param("boxId") Long boxId, @Param("currency") String currency,
+                                  @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM box_currencies WHERE box_id = :boxId")
+    Mono<Integer> deleteByBoxId(@Param("boxId") Long boxId);
+}
@@ -0,0 +1,33 @@
+package com.fundraising.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBoxRepository extends R2dbcRepository<BoxRow, Long> {
+
+    Mono<Boolean> existsByBoxIdentifier(String boxIdentifier);
+
+    /**
+     * Writes the assignment columns only, leaving the currency count to concurrent deposits.
+     * String parameters are cast because the H2 driver binds them as CLOBs.
+     */
+    @Modifying
+    @Query("UPDATE boxes SET status = CAST(:status AS VARCHAR), assigned_event_id = :eventId WHERE id = :boxId")
+    Mono<Integer> updateAssignment(@Param("boxId") Long boxId, @Param("status") String status,
+                                   @Param("eventId") Long eventId);
+
+    /**
+     * @return Currency of the event the box is assigned to, or empty if the box is missing or unassigned
+     */
+    @Query("SELECT e.currency FROM boxes b JOIN fundraising_events e ON e.id = b.assigned_event_id WHERE b.id = :boxId")
+    Mono<String> findAssignedEventCurrency(@Param("boxId") Long boxId);
+
+    @Modifying
+    @Query("UPDATE boxes SET currency_count = currency_count + :delta WHERE id = :boxId")
+    Mono<Integer> adjustCurrencyCount(@Param("boxId") Long boxId, @Param("delta") int delta);
+}
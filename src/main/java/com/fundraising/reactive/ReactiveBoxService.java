@@ -0,0 +1,254 @@
+package com.fundraising.reactive;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.exception.BoxNotFoundException;
+import com.fundraising.exception.DuplicateBoxIdentifierException;
+import com.fundraising.exception.EventNotFoundException;
+import com.fundraising.service.CurrencyConverter;
+import com.fundraising.service.ExchangeRateSnapshots;
+import com.fundraising.service.FundraisingEventChanged;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link com.fundraising.service.BoxService} for the
+ * {@code reactive} profile. The operations follow the same rules and write the same
+ * columns, including the per-box currency count, so both stacks can run against one
+ * database. Write-behind donations are not used here: deposits go straight to R2DBC.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBoxService {
+
+    private final ReactiveBoxRepository boxRepository;
+    private final ReactiveBoxCurrencyRepository boxCurrencyRepository;
+    private final ReactiveFundraisingEventRepository fundraisingEventRepository;
+    private final ReactiveBoxTransferRepository boxTransferRepository;
+    private final CurrencyConverter currencyConverter;
+    private final ExchangeRateSnapshots rateSnapshots;
+    private final TransactionalOperator transactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Retry conflictRetry;
+
+    public ReactiveBoxService(ReactiveBoxRepository boxRepository, ReactiveBoxCurrencyRepository boxCurrencyRepository,
+                              ReactiveFundraisingEventRepository fundraisingEventRepository,
+                              ReactiveBoxTransferRepository boxTransferRepository,
+                              @Qualifier("transferCurrencyConverter") CurrencyConverter currencyConverter,
+                              ExchangeRateSnapshots rateSnapshots,
+                              TransactionalOperator transactions,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${transactions.retry.max-attempts:5}") int maxAttempts,
+                              @Value("${transactions.retry.initial-backoff-ms:10}") long initialBackoffMs,
+                              @Value("${transactions.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.boxRepository = boxRepository;
+        this.boxCurrencyRepository = boxCurrencyRepository;
+        this.fundraisingEventRepository = fundraisingEventRepository;
+        this.boxTransferRepository = boxTransferRepository;
+        this.currencyConverter = currencyConverter;
+        this.rateSnapshots = rateSnapshots;
+        this.transactions = transactions;
+        this.eventPublisher = eventPublisher;
+        // Same bounds and backoff as RetryingTransactionTemplate, without sleeping on a thread
+        this.conflictRetry = Retry.backoff(maxAttempts - 1, Duration.ofMillis(initialBackoffMs))
+                .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                .filter(ConcurrencyFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<BoxDto> registerBox(CreateBoxRequest request) {
+        return boxRepository.existsByBoxIdentifier(request.getBoxIdentifier())
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateBoxIdentifierException(
+                                "Box with identifier '" + request.getBoxIdentifier() + "' already exists"))
+                        : boxRepository.save(new BoxRow(null, request.getBoxIdentifier(), BoxStatus.AVAILABLE, null, 0)))
+                .map(box -> toDto(box, true));
+    }
+
+    public Mono<Void> unregisterBox(Long id) {
+        // When a box is unregistered, it's automatically emptied (money is not transferred)
+        return findBox(id)
+                .flatMap(box -> boxCurrencyRepository.deleteByBoxId(id).then(boxRepository.deleteById(id)))
+                .as(transactions::transactional);
+    }
+
+    public Mono<BoxDto> assignBoxToEvent(Long boxId, Long eventId) {
+        return findBox(boxId)
+                .flatMap(box -> fundraisingEventRepository.existsById(eventId)
+                        .flatMap(exists -> {
+                            if (!exists) {
+                                return Mono.error(new EventNotFoundException("Fundraising event with ID " + eventId + " not found"));
+                            }
+                            if (box.status() != BoxStatus.AVAILABLE) {
+                                return Mono.error(new IllegalStateException("Box is already assigned to another event"));
+                            }
+                            if (!box.isEmpty()) {
+                                return Mono.error(new IllegalStateException("Box must be empty before assignment"));
+                            }
+                            return boxRepository.updateAssignment(boxId, BoxStatus.ASSIGNED.name(), eventId)
+                                    .thenReturn(new BoxDto(box.id(), box.boxIdentifier(), true, true));
+                        }));
+    }
+
+    public Mono<BoxDto> unassignBoxFromEvent(Long boxId) {
+        return findBox(boxId)
+                .flatMap(box -> {
+                    if (box.status() != BoxStatus.ASSIGNED) {
+                        return Mono.error(new IllegalStateException("Box is not currently assigned to any event"));
+                    }
+                    return boxRepository.updateAssignment(boxId, BoxStatus.AVAILABLE.name(), null)
+                            .thenReturn(new BoxDto(box.id(), box.boxIdentifier(), false, box.isEmpty()));
+                });
+    }
+
+    public Flux<BoxDto> getAllBoxes() {
+        return boxRepository.findAll(Sort.by("id"))
+                .map(box -> toDto(box, box.isEmpty()));
+    }
+
+    /**
+     * Adds money to an assigned box. Like the servlet deposit, the increment and the insert
+     * commit separately so that a lost insert race can fall back to an increment.
+     */
+    public Mono<BoxDto> addMoneyToBox(Long boxId, AddMoneyRequest request) {
+        return findBox(boxId)
+                .flatMap(box -> {
+                    if (box.status() != BoxStatus.ASSIGNED) {
+                        return Mono.error(new IllegalStateException("Box must be assigned to a fundraising event before adding money"));
+                    }
+                    return deposit(boxId, request.getCurrency(), request.getAmount())
+                            .thenReturn(toDto(box, false));
+                });
+    }
+
+    private Mono<Void> deposit(Long boxId, Currency currency, BigDecimal amount) {
+        Mono<Integer> increment = boxCurrencyRepository.incrementAmount(boxId, currency.name(), amount);
+        // The new row and the box's currency count are committed together
+        Mono<Integer> insert = boxCurrencyRepository.save(new BoxCurrencyRow(null, boxId, currency, amount))
+                .then(boxRepository.adjustCurrencyCount(boxId, 1))
+                .as(transactions::transactional);
+
+        return increment
+                .flatMap(updated -> updated > 0 ? Mono.<Integer>empty() : insert)
+                // A concurrent donation created the (box, currency) row first; add to it instead
+                .onErrorResume(DataIntegrityViolationException.class, e -> increment
+                        .flatMap(updated -> updated > 0 ? Mono.<Integer>empty() : Mono.error(e)))
+                .then();
+    }
+
+    /**
+     * Transfers the box contents to its event in one transaction that locks the currency rows,
+     * and runs the transfer again if it hits a concurrency conflict. Like the servlet transfer it
+     * has the converter load its rate table before the transaction, then converts with the latest
+     * rate snapshot and records it; without one, conversions are composed without blocking, so a
+     * converter waiting on rates holds no thread.
+     */
+    public Mono<BoxDto> emptyBox(Long boxId) {
+        return loadRates(boxId)
+                .then(transferBoxContents(boxId)
+                        .as(transactions::transactional)
+                        .retryWhen(conflictRetry))
+                .flatMap(transfer -> publishChange(transfer.eventId()).thenReturn(transfer.box()));
+    }
+
+    /**
+     * Has the converter load the rate table of the box's event currency before the transaction
+     * starts, so waiting on the rate API holds no connection.
+     */
+    private Mono<Void> loadRates(Long boxId) {
+        return boxRepository.findAssignedEventCurrency(boxId)
+                .flatMap(currency -> Mono.fromFuture(() -> currencyConverter.loadRates(Currency.valueOf(currency))))
+                .then();
+    }
+
+    private Mono<Transfer> transferBoxContents(Long boxId) {
+        return findBox(boxId)
+                .flatMap(box -> {
+                    if (box.status() != BoxStatus.ASSIGNED) {
+                        return Mono.error(new IllegalStateException("Box must be assigned to a fundraising event before emptying"));
+                    }
+                    if (box.assignedEventId() == null) {
+                        return Mono.error(new IllegalStateException("Box is not assigned to any fundraising event"));
+                    }
+                    return fundraisingEventRepository.findById(box.assignedEventId())
+                            .zipWith(boxCurrencyRepository.findByBoxIdForUpdate(boxId)
+                                    .filter(row -> row.amount().compareTo(BigDecimal.ZERO) > 0)
+                                    .collectList())
+                            .flatMap(eventAndRows -> transfer(box, eventAndRows.getT1(), eventAndRows.getT2()));
+                });
+    }
+
+    private Mono<Transfer> transfer(BoxRow box, FundraisingEventRow event, List<BoxCurrencyRow> positiveRows) {
+        if (positiveRows.isEmpty()) {
+            return Mono.error(new IllegalStateException("Box is already empty"));
+        }
+
+        // The latest snapshots are held in memory, so converting with one does not block
+        Long rateSnapshotId = rateSnapshots.latestFor(event.currency())
+                .map(ExchangeRateSnapshots.RateTable::snapshotId)
+                .orElse(null);
+        Mono<BigDecimal> converted = rateSnapshotId != null
+                ? Mono.fromSupplier(() -> rateSnapshots.convertAll(rateSnapshotId, amounts(positiveRows), event.currency()))
+                : Flux.fromIterable(positiveRows)
+                        .concatMap(row -> Mono.fromFuture(() ->
+                                currencyConverter.convertAsync(row.amount(), row.currency(), event.currency())))
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return converted
+                .flatMap(total -> fundraisingEventRepository.addToBalance(event.id(), total)
+                        .then(boxTransferRepository.save(new BoxTransferRow(null, box.id(), event.id(), total,
+                                event.currency(), rateSnapshotId, Instant.now()))))
+                // Only the locked rows: a currency deposited since the lookup was not transferred and stays in the box
+                .then(boxCurrencyRepository.deleteAllById(positiveRows.stream().map(BoxCurrencyRow::id).toList()))
+                .then(boxRepository.adjustCurrencyCount(box.id(), -positiveRows.size()))
+                .thenReturn(new Transfer(toDto(box, true), event.id()));
+    }
+
+    private static Map<Currency, BigDecimal> amounts(List<BoxCurrencyRow> rows) {
+        Map<Currency, BigDecimal> amounts = new EnumMap<>(Currency.class);
+        rows.forEach(row -> amounts.merge(row.currency(), row.amount(), BigDecimal::add));
+        return amounts;
+    }
+
+    private Mono<BoxRow> findBox(Long boxId) {
+        return boxRepository.findById(boxId)
+                .switchIfEmpty(Mono.error(() -> new BoxNotFoundException("Box with ID " + boxId + " not found")));
+    }
+
+    /**
+     * Updates the event projection once the transfer committed. Its listener reads the
+     * balance through JPA, so it runs on a thread that may block.
+     */
+    private Mono<Void> publishChange(Long eventId) {
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(new FundraisingEventChanged(eventId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private static BoxDto toDto(BoxRow box, boolean empty) {
+        return new BoxDto(box.id(), box.boxIdentifier(), box.status() == BoxStatus.ASSIGNED, empty);
+    }
+
+    private record Transfer(BoxDto box, Long eventId) {}
+}
@@ -0,0 +1,8 @@
+package com.fundraising.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveBoxTransferRepository extends R2dbcRepository<BoxTransferRow, Long> {
+}
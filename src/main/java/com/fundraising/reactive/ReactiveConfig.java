@@ -0,0 +1,50 @@
+package com.fundraising.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Infrastructure of the {@code reactive} profile, which serves the box and event APIs from
+ * WebFlux on Netty with R2DBC persistence. The JPA beans stay in the context for the
+ * scheduled jobs and the event projection, which keep running on their own threads.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * Boot skips its JDBC DataSource once an R2DBC ConnectionFactory exists, but JPA still needs one
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Netty instead of the reactive Tomcat adapter Boot would pick while the servlet starter is on the classpath
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * The R2DBC transaction manager is deliberately not a bean: a second transaction manager
+     * would make every {@code @Transactional} of the JPA services ambiguous.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactions(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,99 @@
+package com.fundraising.reactive;
+
+import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.exception.DuplicateEventNameException;
+import com.fundraising.exception.EventNotFoundException;
+import com.fundraising.service.EventBalanceStream;
+import com.fundraising.service.EventLeaderboard;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event API of the {@code reactive} profile. Same paths and payloads as
+ * {@link com.fundraising.controller.FundraisingEventController}; the financial report and
+ * emptying all boxes of an event are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/events")
+@Profile("reactive")
+public class ReactiveFundraisingEventController {
+
+    static final int MAX_LEADERBOARD_LIMIT = 100;
+    private static final String LIMIT_MESSAGE = "Limit must be between 1 and " + MAX_LEADERBOARD_LIMIT;
+
+    @Autowired
+    private ReactiveFundraisingEventService fundraisingEventService;
+
+    @Autowired
+    private EventLeaderboard eventLeaderboard;
+
+    @Autowired
+    private EventBalanceStream eventBalanceStream;
+
+    @PostMapping
+    public Mono<ResponseEntity<FundraisingEventDTO>> createEvent(@Valid @RequestBody CreateEventRequest request) {
+        return fundraisingEventService.createEvent(request)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FundraisingEventDTO>> getAllEvents() {
+        EventLeaderboard.Snapshot snapshot = eventLeaderboard.snapshot();
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.events());
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<FundraisingEventDTO>> getLeaderboard(
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = LIMIT_MESSAGE) @Max(value = MAX_LEADERBOARD_LIMIT, message = LIMIT_MESSAGE) int limit) {
+        EventLeaderboard.Snapshot snapshot = eventLeaderboard.snapshot();
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.top(limit));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<FundraisingEventDTO>> getEventById(@PathVariable Long id) {
+        return fundraisingEventService.getEventById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<FundraisingEventDTO>>> streamEvent(@PathVariable Long id) {
+        return eventBalanceStream.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidParameter(HandlerMethodValidationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getAllErrors().get(0).getDefaultMessage()));
+    }
+
+    @ExceptionHandler(DuplicateEventNameException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateEventName(DuplicateEventNameException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleEventNotFound(EventNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.fundraising.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface ReactiveFundraisingEventRepository extends R2dbcRepository<FundraisingEventRow, Long> {
+
+    Mono<Boolean> existsByNameIgnoreCase(String name);
+
+    /**
+     * Same increment as the JPA repository's addToBalance, so transfers from both stacks agree
+     */
+    @Modifying
+    @Query("UPDATE fundraising_events SET balance = balance + :amount, version = version + 1 WHERE id = :eventId")
+    Mono<Integer> addToBalance(@Param("eventId") Long eventId, @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,67 @@
+package com.fundraising.reactive;
+
+import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.exception.DuplicateEventNameException;
+import com.fundraising.service.EventLeaderboard;
+import com.fundraising.service.FundraisingEventChanged;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of {@link com.fundraising.service.FundraisingEventService}
+ * for the {@code reactive} profile. Listings are served from the {@link EventLeaderboard}
+ * projection, as in the servlet stack.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveFundraisingEventService {
+
+    @Autowired
+    private ReactiveFundraisingEventRepository fundraisingEventRepository;
+
+    @Autowired
+    private EventLeaderboard eventLeaderboard;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Loads the event projection before requests arrive, so that its first load, which
+     * reads through JPA, never runs on an event loop thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboard() {
+        eventLeaderboard.snapshot();
+    }
+
+    public Mono<FundraisingEventDTO> createEvent(CreateEventRequest request) {
+        return fundraisingEventRepository.existsByNameIgnoreCase(request.getName())
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateEventNameException(
+                                "An event with the name '" + request.getName() + "' already exists"))
+                        : fundraisingEventRepository.save(
+                                new FundraisingEventRow(null, request.getName(), BigDecimal.ZERO, request.getCurrency(), null)))
+                .flatMap(event -> Mono.fromRunnable(() -> eventPublisher.publishEvent(new FundraisingEventChanged(event.id())))
+                        // The projection's listener reads through JPA
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(toDto(event)));
+    }
+
+    public Mono<FundraisingEventDTO> getEventById(Long id) {
+        return fundraisingEventRepository.findById(id)
+                .map(ReactiveFundraisingEventService::toDto);
+    }
+
+    private static FundraisingEventDTO toDto(FundraisingEventRow event) {
+        return new FundraisingEventDTO(event.id(), event.name(), event.balance(), event.currency());
+    }
+}
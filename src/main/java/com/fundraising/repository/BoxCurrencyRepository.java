@@ -3,22 +3,81 @@ package com.fundraising.repository;
 import com.fundraising.entity.Box;
 import com.fundraising.entity.BoxCurrency;
 import com.fundraising.enums.Currency;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BoxCurrencyRepository extends JpaRepository<BoxCurrency, Long> {
+public interface BoxCurrencyRepository extends JpaRepository<BoxCurrency, Long>, BoxCurrencyRepositoryCustom {
     List<BoxCurrency> findByBox(Box box);
     Optional<BoxCurrency> findByBoxAndCurrency(Box box, Currency currency);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bc FROM BoxCurrency bc WHERE bc.box = :box")
+    List<BoxCurrency> findByBoxForUpdate(@Param("box") Box box);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bc FROM BoxCurrency bc WHERE bc.box.id IN :boxIds")
+    List<BoxCurrency> findByBoxIdInForUpdate(@Param("boxIds") Collection<Long> boxIds);
+
+    /**
+     * Loads and locks the currency rows of every box assigned to the event. The boxes are
+     * fetched in the same statement, so the rows come back without any follow-up selects.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bc FROM BoxCurrency bc JOIN FETCH bc.box b " +
+            "WHERE b.assignedEvent.id = :eventId AND b.status = com.fundraising.enums.BoxStatus.ASSIGNED")
+    List<BoxCurrency> findByAssignedEventIdForUpdate(@Param("eventId") Long eventId);
+
     @Query("SELECT COALESCE(SUM(bc.amount), 0) FROM BoxCurrency bc WHERE bc.box = :box")
     BigDecimal getTotalAmountInBox(@Param("box") Box box);
 
-    @Query("SELECT CASE WHEN COUNT(bc) > 0 THEN false ELSE true END FROM BoxCurrency bc WHERE bc.box = :box AND bc.amount > 0")
-    boolean isBoxEmpty(@Param("box") Box box);
+    @Query("SELECT bc.currency, SUM(bc.amount) FROM BoxCurrency bc GROUP BY bc.currency")
+    List<Object[]> sumAmountsByCurrency();
+
+    /**
+     * Money in assigned boxes, summed per event and box currency in one query.
+     * @return Rows of {@code [eventId, currency, amount]}
+     */
+    @Query("SELECT b.assignedEvent.id, bc.currency, SUM(bc.amount) FROM BoxCurrency bc JOIN bc.box b " +
+           "WHERE b.status = com.fundraising.enums.BoxStatus.ASSIGNED GROUP BY b.assignedEvent.id, bc.currency")
+    List<Object[]> sumAssignedAmountsByEventAndCurrency();
+
+    /**
+     * Adds the amount to the box's existing balance in that currency with a single
+     * in-database increment, so concurrent donations cannot overwrite each other.
+     * @return Number of updated rows; 0 when the box holds no money in that currency yet
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BoxCurrency bc SET bc.amount = bc.amount + :amount WHERE bc.box.id = :boxId AND bc.currency = :currency")
+    int incrementAmount(@Param("boxId") Long boxId, @Param("currency") Currency currency, @Param("amount") BigDecimal amount);
+
+    /**
+     * Deletes all currency rows of the box in one statement. Pending changes are flushed first and the
+     * persistence context is cleared afterwards, so no deleted row stays managed.
+     * @return Number of deleted rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BoxCurrency bc WHERE bc.box.id = :boxId")
+    int deleteByBoxId(@Param("boxId") Long boxId);
+
+    /**
+     * Deletes all currency rows of the given boxes in one statement, flushing and clearing the
+     * persistence context like {@link #deleteByBoxId(Long)}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BoxCurrency bc WHERE bc.box.id IN :boxIds")
+    int deleteByBoxIdIn(@Param("boxIds") Collection<Long> boxIds);
 }
\ No newline at end of file
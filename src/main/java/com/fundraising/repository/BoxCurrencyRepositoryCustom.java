@@ -0,0 +1,15 @@
+package com.fundraising.repository;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import java.util.Collection;
+
+public interface BoxCurrencyRepositoryCustom {
+
+    /**
+     * Adds every delta to the matching box_currencies row using JDBC batches, inserting
+     * rows that do not exist yet. Deltas for boxes that no longer exist are skipped.
+     * Must be called inside a transaction.
+     * @return Number of deltas that were applied
+     */
+    int applyDeltas(Collection<BoxCurrencyDelta> deltas);
+}
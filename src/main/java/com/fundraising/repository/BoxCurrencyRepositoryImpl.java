@@ -0,0 +1,83 @@
+package com.fundraising.repository;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class BoxCurrencyRepositoryImpl implements BoxCurrencyRepositoryCustom {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE box_currencies SET amount = amount + ? WHERE box_id = ? AND currency = ?";
+
+    // Selecting from boxes skips deltas whose box has been unregistered in the meantime
+    private static final String INSERT_SQL =
+            "INSERT INTO box_currencies (box_id, currency, amount) " +
+            "SELECT id, CAST(? AS VARCHAR), CAST(? AS DECIMAL(19, 2)) FROM boxes WHERE id = ?";
+
+    private static final String COUNT_CURRENCY_SQL =
+            "UPDATE boxes SET currency_count = currency_count + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    BoxCurrencyRepositoryImpl(JdbcTemplate jdbcTemplate,
+                              @Value("${donations.write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int applyDeltas(Collection<BoxCurrencyDelta> deltas) {
+        List<BoxCurrencyDelta> ordered = new ArrayList<>(deltas);
+
+        int[][] updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, ordered, batchSize, (ps, delta) -> {
+            ps.setBigDecimal(1, delta.getAmount());
+            ps.setLong(2, delta.getBoxId());
+            ps.setString(3, delta.getCurrency().name());
+        });
+
+        List<BoxCurrencyDelta> missing = new ArrayList<>();
+        int applied = 0;
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count > 0) {
+                    applied++;
+                } else {
+                    missing.add(ordered.get(index));
+                }
+                index++;
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            int[][] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, missing, batchSize, (ps, delta) -> {
+                ps.setString(1, delta.getCurrency().name());
+                ps.setBigDecimal(2, delta.getAmount());
+                ps.setLong(3, delta.getBoxId());
+            });
+            List<Long> newCurrencyBoxIds = new ArrayList<>();
+            index = 0;
+            for (int[] batch : inserted) {
+                for (int count : batch) {
+                    applied += count;
+                    if (count > 0) {
+                        newCurrencyBoxIds.add(missing.get(index).getBoxId());
+                    }
+                    index++;
+                }
+            }
+            jdbcTemplate.batchUpdate(COUNT_CURRENCY_SQL, newCurrencyBoxIds, batchSize,
+                    (ps, boxId) -> ps.setLong(1, boxId));
+        }
+
+        return applied;
+    }
+}
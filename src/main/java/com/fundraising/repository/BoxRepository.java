@@ -1,15 +1,105 @@
 package com.fundraising.repository;
 
+import com.fundraising.dto.BoxDto;
 import com.fundraising.entity.Box;
 import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BoxRepository extends JpaRepository<Box, Long> {
+
+    String BOX_SUMMARY_SELECT = "SELECT new com.fundraising.dto.BoxDto(b.id, b.boxIdentifier, " +
+            "CASE WHEN b.status = com.fundraising.enums.BoxStatus.ASSIGNED THEN true ELSE false END, " +
+            "CASE WHEN b.currencyCount > 0 THEN false ELSE true END) " +
+            "FROM Box b ";
+
     Optional<Box> findByBoxIdentifier(String boxIdentifier);
     List<Box> findByStatus(BoxStatus status);
     boolean existsByBoxIdentifier(String boxIdentifier);
-}
\ No newline at end of file
+    List<Box> findByBoxIdentifierIn(Collection<String> boxIdentifiers);
+
+    /**
+     * IDs of the boxes with the given identifiers, without loading the boxes.
+     * @return Rows of {@code [id, boxIdentifier]}
+     */
+    @Query("SELECT b.id, b.boxIdentifier FROM Box b WHERE b.boxIdentifier IN :boxIdentifiers")
+    List<Object[]> findIdsByBoxIdentifierIn(@Param("boxIdentifiers") Collection<String> boxIdentifiers);
+
+    /**
+     * Deletes the boxes in one statement. Their box_currencies rows have to be deleted first.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Box b WHERE b.id IN :boxIds")
+    int deleteByIdIn(@Param("boxIds") Collection<Long> boxIds);
+
+    /**
+     * Lists every box with its assigned/empty flags computed in a single
+     * query, so the cost does not grow with the number of boxes.
+     */
+    @Query(BOX_SUMMARY_SELECT + "ORDER BY b.id")
+    List<BoxDto> findAllBoxSummaries();
+
+    /**
+     * Keyset page of box summaries: boxes with an ID greater than {@code afterId}, in ID order.
+     */
+    @Query(BOX_SUMMARY_SELECT + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BoxDto> findBoxSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams all box summaries in ID order. Must be consumed inside a transaction
+     * and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(BOX_SUMMARY_SELECT + "ORDER BY b.id")
+    Stream<BoxDto> streamAllBoxSummaries();
+
+    @Query("SELECT b.currencyCount FROM Box b WHERE b.id = :boxId")
+    Optional<Integer> findCurrencyCountById(@Param("boxId") Long boxId);
+
+    /**
+     * @return Currency of the event the box is assigned to, or empty if the box is missing or unassigned
+     */
+    @Query("SELECT e.currency FROM Box b JOIN b.assignedEvent e WHERE b.id = :boxId")
+    Optional<Currency> findAssignedEventCurrencyById(@Param("boxId") Long boxId);
+
+    /**
+     * Adds {@code delta} to the currency count of the given boxes. Must run in the transaction
+     * that inserts or deletes their box_currencies rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Box b SET b.currencyCount = b.currencyCount + :delta WHERE b.id IN :boxIds")
+    int adjustCurrencyCount(@Param("boxIds") Collection<Long> boxIds, @Param("delta") int delta);
+
+    /**
+     * @return IDs of the boxes whose currency count does not match their box_currencies rows
+     */
+    @Query("SELECT b.id FROM Box b WHERE b.currencyCount <> " +
+           "(SELECT COUNT(bc) FROM BoxCurrency bc WHERE bc.box = b AND bc.amount > 0)")
+    List<Long> findIdsWithCurrencyCountDrift();
+
+    /**
+     * Recomputes the currency count of the given boxes from their box_currencies rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Box b SET b.currencyCount = " +
+           "(SELECT COUNT(bc) FROM BoxCurrency bc WHERE bc.box = b AND bc.amount > 0) WHERE b.id IN :boxIds")
+    int recountCurrencies(@Param("boxIds") Collection<Long> boxIds);
+}
@@ -0,0 +1,17 @@
+package com.fundraising.repository;
+
+import com.fundraising.entity.BoxTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BoxTransferRepository extends JpaRepository<BoxTransfer, Long> {
+
+    // Filters on the foreign key column itself, so the event_id index applies without a join
+    @Query("SELECT t FROM BoxTransfer t WHERE t.event.id = :eventId")
+    List<BoxTransfer> findByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,19 @@
+package com.fundraising.repository;
+
+import com.fundraising.entity.DonationJournalSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DonationJournalSegmentRepository extends JpaRepository<DonationJournalSegment, String> {
+
+    /**
+     * Writes every committed change to the database file and syncs it to disk. H2 may hold
+     * commits in memory for up to WRITE_DELAY, so journal segments are only deleted after this.
+     */
+    @Modifying
+    @Query(value = "CHECKPOINT SYNC", nativeQuery = true)
+    void checkpointDatabase();
+}
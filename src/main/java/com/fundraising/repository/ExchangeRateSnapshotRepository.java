@@ -0,0 +1,14 @@
+package com.fundraising.repository;
+
+import com.fundraising.entity.ExchangeRateSnapshot;
+import com.fundraising.enums.Currency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateSnapshotRepository extends JpaRepository<ExchangeRateSnapshot, Long> {
+
+    Optional<ExchangeRateSnapshot> findFirstByBaseCurrencyOrderByFetchedAtDescIdDesc(Currency baseCurrency);
+}
@@ -1,10 +1,50 @@
 package com.fundraising.repository;
 
+import com.fundraising.dto.FundraisingEventBalance;
 import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.Currency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FundraisingEventRepository extends JpaRepository<FundraisingEvent, Long> {
+
+    String BALANCE_SELECT = "SELECT new com.fundraising.dto.FundraisingEventBalance(" +
+            "e.id, e.name, e.balance, e.currency, e.version) FROM FundraisingEvent e ";
+
     boolean existsByNameIgnoreCase(String name);
-}
\ No newline at end of file
+
+    /**
+     * Adds the amount to the event balance in the database instead of writing back a balance
+     * computed in Java, so concurrent transfers into the same event cannot overwrite each other.
+     * The version is bumped so that stale copies of the event fail their optimistic check.
+     * @return Number of updated rows; 0 when the event does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE FundraisingEvent e SET e.balance = e.balance + :amount, e.version = e.version + 1 WHERE e.id = :eventId")
+    int addToBalance(@Param("eventId") Long eventId, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT e.balance FROM FundraisingEvent e WHERE e.id = :eventId")
+    BigDecimal findBalanceById(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.currency FROM FundraisingEvent e WHERE e.id = :eventId")
+    Optional<Currency> findCurrencyById(@Param("eventId") Long eventId);
+
+    /**
+     * Reads the event's current balance and version. Unlike {@link #findById}, this always queries
+     * the database, even when a stale copy of the event is held by the current persistence context.
+     */
+    @Query(BALANCE_SELECT + "WHERE e.id = :eventId")
+    Optional<FundraisingEventBalance> findCurrentBalanceById(@Param("eventId") Long eventId);
+
+    @Query(BALANCE_SELECT + "ORDER BY e.id")
+    List<FundraisingEventBalance> findAllCurrentBalances();
+}
@@ -0,0 +1,43 @@
+package com.fundraising.service;
+
+import com.fundraising.repository.BoxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Verifies that the currency count stored on each box matches its box_currencies rows and
+ * repairs the boxes that drifted, e.g. after rows were changed by hand or a write-behind
+ * flush was interrupted between its statements.
+ */
+@Service
+public class BoxCurrencyCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoxCurrencyCountReconciler.class);
+
+    private final BoxRepository boxRepository;
+
+    public BoxCurrencyCountReconciler(BoxRepository boxRepository) {
+        this.boxRepository = boxRepository;
+    }
+
+    /**
+     * @return Number of boxes whose currency count was repaired
+     */
+    @Transactional
+    @Scheduled(initialDelayString = "${boxes.reconciliation.interval-ms:3600000}",
+               fixedDelayString = "${boxes.reconciliation.interval-ms:3600000}")
+    public int reconcile() {
+        List<Long> drifted = boxRepository.findIdsWithCurrencyCountDrift();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        logger.warn("Repairing the currency count of {} boxes: {}", drifted.size(), drifted);
+        return boxRepository.recountCurrencies(drifted);
+    }
+}
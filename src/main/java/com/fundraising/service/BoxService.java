@@ -2,23 +2,42 @@ package com.fundraising.service;
 
 import com.fundraising.dto.AddMoneyRequest;
 import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.BoxPage;
 import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.dto.EmptyBoxesResult;
 import com.fundraising.entity.Box;
 import com.fundraising.entity.BoxCurrency;
+import com.fundraising.entity.BoxTransfer;
 import com.fundraising.entity.FundraisingEvent;
 import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
 import com.fundraising.exception.BoxNotFoundException;
 import com.fundraising.exception.DuplicateBoxIdentifierException;
+import com.fundraising.exception.EventNotFoundException;
 import com.fundraising.mapper.BoxMapper;
 import com.fundraising.repository.BoxCurrencyRepository;
 import com.fundraising.repository.BoxRepository;
+import com.fundraising.repository.BoxTransferRepository;
 import com.fundraising.repository.FundraisingEventRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BoxService {
@@ -28,17 +47,39 @@ public class BoxService {
     private final FundraisingEventRepository fundraisingEventRepository;
     private final BoxMapper boxMapper;
     private final CurrencyConverter currencyConverter;
+    private final ExchangeRateSnapshots rateSnapshots;
+    private final BoxTransferRepository boxTransferRepository;
+    private final RetryingTransactionTemplate retryingTransactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final DonationLedger donationLedger;  // null unless write-behind donations are enabled
 
     public BoxService(BoxRepository boxRepository, BoxCurrencyRepository boxCurrencyRepository,
                       FundraisingEventRepository fundraisingEventRepository, BoxMapper boxMapper,
-                      @Qualifier("staticCurrencyConverter") CurrencyConverter currencyConverter) {
+                      @Qualifier("transferCurrencyConverter") CurrencyConverter currencyConverter,
+                      ExchangeRateSnapshots rateSnapshots,
+                      BoxTransferRepository boxTransferRepository,
+                      RetryingTransactionTemplate retryingTransactions,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${boxes.page-size.default:100}") int defaultPageSize,
+                      @Value("${boxes.page-size.max:1000}") int maxPageSize,
+                      Optional<DonationLedger> donationLedger) {
         this.boxRepository = boxRepository;
         this.boxCurrencyRepository = boxCurrencyRepository;
         this.fundraisingEventRepository = fundraisingEventRepository;
         this.boxMapper = boxMapper;
         this.currencyConverter = currencyConverter;
+        this.rateSnapshots = rateSnapshots;
+        this.boxTransferRepository = boxTransferRepository;
+        this.retryingTransactions = retryingTransactions;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.donationLedger = donationLedger.orElse(null);
     }
 
+    @Timed(value = "boxes.operations", extraTags = {"operation", "register"})
     public BoxDto registerBox(CreateBoxRequest request) {
         if (boxRepository.existsByBoxIdentifier(request.getBoxIdentifier())) {
             throw new DuplicateBoxIdentifierException("Box with identifier '" + request.getBoxIdentifier() + "' already exists");
@@ -46,33 +87,36 @@ public class BoxService {
 
         Box box = boxMapper.toEntity(request);
         Box savedBox = boxRepository.save(box);
-        return boxMapper.toDto(savedBox);
+        return boxMapper.toDto(savedBox, true);
     }
 
+    @Transactional
+    @Timed(value = "boxes.operations", extraTags = {"operation", "unregister"})
     public void unregisterBox(Long id) {
-        Box box = boxRepository.findById(id)
-                .orElseThrow(() -> new BoxNotFoundException("Box with ID " + id + " not found"));
+        if (!boxRepository.existsById(id)) {
+            throw new BoxNotFoundException("Box with ID " + id + " not found");
+        }
 
         // When a box is unregistered, it's automatically emptied (money is not transferred)
         // Delete all currency records for this box
-        List<com.fundraising.entity.BoxCurrency> currencies = boxCurrencyRepository.findByBox(box);
-        boxCurrencyRepository.deleteAll(currencies);
+        boxCurrencyRepository.deleteByBoxId(id);
 
-        boxRepository.delete(box);
+        boxRepository.deleteByIdIn(List.of(id));
     }
 
+    @Timed(value = "boxes.operations", extraTags = {"operation", "assign"})
     public BoxDto assignBoxToEvent(Long boxId, Long eventId) {
         Box box = boxRepository.findById(boxId)
                 .orElseThrow(() -> new BoxNotFoundException("Box with ID " + boxId + " not found"));
 
         FundraisingEvent event = fundraisingEventRepository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Fundraising event with ID " + eventId + " not found"));
+                .orElseThrow(() -> new EventNotFoundException("Fundraising event with ID " + eventId + " not found"));
 
         if (box.getStatus() != BoxStatus.AVAILABLE) {
             throw new IllegalStateException("Box is already assigned to another event");
         }
 
-        boolean isEmpty = boxCurrencyRepository.isBoxEmpty(box);
+        boolean isEmpty = isBoxEmpty(box);
         if (!isEmpty) {
             throw new IllegalStateException("Box must be empty before assignment");
         }
@@ -81,9 +125,10 @@ public class BoxService {
         box.setAssignedEvent(event);
         Box savedBox = boxRepository.save(box);
 
-        return boxMapper.toDto(savedBox);
+        return boxMapper.toDto(savedBox, true);
     }
 
+    @Timed(value = "boxes.operations", extraTags = {"operation", "unassign"})
     public BoxDto unassignBoxFromEvent(Long boxId) {
         Box box = boxRepository.findById(boxId)
                 .orElseThrow(() -> new BoxNotFoundException("Box with ID " + boxId + " not found"));
@@ -96,13 +141,47 @@ public class BoxService {
         box.setAssignedEvent(null);
         Box savedBox = boxRepository.save(box);
 
-        return boxMapper.toDto(savedBox);
+        return boxMapper.toDto(savedBox, isBoxEmpty(savedBox));
     }
 
+    @Timed(value = "boxes.operations", extraTags = {"operation", "list"})
     public List<BoxDto> getAllBoxes() {
-        List<Box> boxes = boxRepository.findAll();
-        return boxMapper.toDtoList(boxes);
+        return boxRepository.findAllBoxSummaries();
+    }
+
+    /**
+     * Returns the page of boxes following the given cursor (keyset on box ID).
+     * @param afterId ID of the last box of the previous page, or null for the first page
+     * @param size Requested page size, or null for the configured default
+     */
+    @Timed(value = "boxes.operations", extraTags = {"operation", "page"})
+    public BoxPage getBoxPage(Long afterId, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        List<BoxDto> boxes = boxRepository.findBoxSummariesAfter(afterId == null ? 0L : afterId, Limit.of(pageSize));
+        Long nextCursor = boxes.size() == pageSize ? boxes.get(boxes.size() - 1).getId() : null;
+        return new BoxPage(boxes, nextCursor);
+    }
+
+    /**
+     * Passes every box to the consumer as it is read from the database, without
+     * materialising the whole listing.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "boxes.operations", extraTags = {"operation", "stream"})
+    public void streamAllBoxes(Consumer<BoxDto> consumer) {
+        try (Stream<BoxDto> boxes = boxRepository.streamAllBoxSummaries()) {
+            boxes.forEach(consumer);
+        }
     }
+    /**
+     * Adds money to an assigned box. Deliberately not transactional: the deposit relies on
+     * each repository call committing on its own so that a lost insert race can be retried.
+     */
+    @Timed(value = "boxes.operations", extraTags = {"operation", "add-money"})
     public BoxDto addMoneyToBox(Long boxId, AddMoneyRequest request) {
         Box box = boxRepository.findById(boxId)
                 .orElseThrow(() -> new BoxNotFoundException("Box with ID " + boxId + " not found"));
@@ -111,22 +190,52 @@ public class BoxService {
             throw new IllegalStateException("Box must be assigned to a fundraising event before adding money");
         }
 
-        Optional<BoxCurrency> existingCurrency = boxCurrencyRepository.findByBoxAndCurrency(box, request.getCurrency());
-
-        BoxCurrency boxCurrency;
-        if (existingCurrency.isPresent()) {
-            boxCurrency = existingCurrency.get();
-            BigDecimal newAmount = boxCurrency.getAmount().add(request.getAmount());
-            boxCurrency.setAmount(newAmount);
+        if (donationLedger != null) {
+            donationLedger.deposit(boxId, request.getCurrency(), request.getAmount());
         } else {
-            boxCurrency = new BoxCurrency(box, request.getCurrency(), request.getAmount());
+            deposit(box, request.getCurrency(), request.getAmount());
         }
 
-        boxCurrencyRepository.save(boxCurrency);
+        // The box now holds a positive amount, so there is no need to query its emptiness
+        return boxMapper.toDto(box, false);
+    }
+
+    private void deposit(Box box, Currency currency, BigDecimal amount) {
+        if (boxCurrencyRepository.incrementAmount(box.getId(), currency, amount) > 0) {
+            return;
+        }
 
-        return boxMapper.toDto(box);
+        try {
+            // The new row and the box's currency count are committed together
+            retryingTransactions.execute(status -> {
+                boxCurrencyRepository.saveAndFlush(new BoxCurrency(box, currency, amount));
+                return boxRepository.adjustCurrencyCount(List.of(box.getId()), 1);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent donation created the (box, currency) row first; add to it instead
+            if (boxCurrencyRepository.incrementAmount(box.getId(), currency, amount) == 0) {
+                throw e;
+            }
+        }
     }
+
+    /**
+     * Transfers the box contents to its event. The currency rows are locked for the
+     * transaction and the event balance is incremented in the database, and the whole
+     * transfer is retried in a new transaction if it runs into a concurrency conflict.
+     * Before the transaction, the converter loads its current rate table, which records a
+     * snapshot when it comes from the rate API; amounts are then converted with the latest recorded snapshot,
+     * whose ID is stored with the transfer. The static rates are used until a snapshot exists.
+     */
+    @Timed(value = "boxes.operations", extraTags = {"operation", "empty"})
     public BoxDto emptyBox(Long boxId) {
+        // Flushed in the ledger's own transaction, before the transfer starts
+        flushPendingDeposits(boxId);
+        boxRepository.findAssignedEventCurrencyById(boxId).ifPresent(this::loadRates);
+        return retryingTransactions.execute(status -> transferBoxContents(boxId));
+    }
+
+    private BoxDto transferBoxContents(Long boxId) {
         Box box = boxRepository.findById(boxId)
                 .orElseThrow(() -> new BoxNotFoundException("Box with ID " + boxId + " not found"));
 
@@ -139,36 +248,136 @@ public class BoxService {
             throw new IllegalStateException("Box is not assigned to any fundraising event");
         }
 
-        List<BoxCurrency> boxCurrencies = boxCurrencyRepository.findByBox(box);
+        // Locking the rows makes a concurrent emptying of the same box wait and then find it empty
+        List<BoxCurrency> boxCurrencies = boxCurrencyRepository.findByBoxForUpdate(box);
 
-        // Check if box is effectively empty (no currencies with positive amounts)
-        boolean hasPositiveAmount = boxCurrencies.stream()
-                .anyMatch(bc -> bc.getAmount().compareTo(BigDecimal.ZERO) > 0);
+        Map<Currency, BigDecimal> amounts = new EnumMap<>(Currency.class);
+        int emptiedCurrencies = 0;
+        for (BoxCurrency boxCurrency : boxCurrencies) {
+            if (boxCurrency.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+                amounts.merge(boxCurrency.getCurrency(), boxCurrency.getAmount(), BigDecimal::add);
+                emptiedCurrencies++;
+            }
+        }
 
-        if (!hasPositiveAmount) {
+        // Check if box is effectively empty (no currencies with positive amounts)
+        if (amounts.isEmpty()) {
             throw new IllegalStateException("Box is already empty");
         }
 
-        BigDecimal totalTransferred = BigDecimal.ZERO;
+        // One rate lookup for all of the box's currencies
+        Long rateSnapshotId = latestRateSnapshotId(event.getCurrency());
+        BigDecimal totalTransferred = convertAll(rateSnapshotId, amounts, event.getCurrency());
+
+        fundraisingEventRepository.addToBalance(event.getId(), totalTransferred);
+        boxTransferRepository.save(new BoxTransfer(box.getId(), event, totalTransferred, event.getCurrency(),
+                rateSnapshotId, Instant.now()));
+        eventPublisher.publishEvent(new FundraisingEventChanged(event.getId()));
+
+        // Only the locked rows: a currency deposited since the lookup was not transferred and stays in the box
+        boxCurrencyRepository.deleteAllByIdInBatch(boxCurrencies.stream().map(BoxCurrency::getId).toList());
+        boxRepository.adjustCurrencyCount(List.of(box.getId()), -emptiedCurrencies);
+
+        return boxMapper.toDto(box, true);
+    }
+
+    /**
+     * Empties every box assigned to the event in one transaction: the currency rows are
+     * loaded and locked with one query, summed per currency, converted with one rate lookup
+     * and removed with a single delete, and the event balance is incremented once.
+     */
+    @Timed(value = "boxes.operations", extraTags = {"operation", "empty-all"})
+    public EmptyBoxesResult emptyAllBoxes(Long eventId) {
+        if (donationLedger != null) {
+            donationLedger.flush();
+        }
+        fundraisingEventRepository.findCurrencyById(eventId).ifPresent(this::loadRates);
+        return retryingTransactions.execute(status -> transferAllBoxContents(eventId));
+    }
+
+    private EmptyBoxesResult transferAllBoxContents(Long eventId) {
+        FundraisingEvent event = fundraisingEventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Fundraising event with ID " + eventId + " not found"));
+
+        List<BoxCurrency> boxCurrencies = boxCurrencyRepository.findByAssignedEventIdForUpdate(eventId);
 
+        Map<Currency, BigDecimal> totals = new EnumMap<>(Currency.class);
+        Map<Long, Integer> emptiedCurrencies = new HashMap<>();
         for (BoxCurrency boxCurrency : boxCurrencies) {
-            BigDecimal amount = boxCurrency.getAmount();
-            if (amount.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal convertedAmount = currencyConverter.convert(
-                        amount,
-                        boxCurrency.getCurrency(),
-                        event.getCurrency()
-                );
-                totalTransferred = totalTransferred.add(convertedAmount);
+            if (boxCurrency.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+                totals.merge(boxCurrency.getCurrency(), boxCurrency.getAmount(), BigDecimal::add);
+                emptiedCurrencies.merge(boxCurrency.getBox().getId(), 1, Integer::sum);
             }
         }
 
-        BigDecimal newBalance = event.getBalance().add(totalTransferred);
-        event.setBalance(newBalance);
-        fundraisingEventRepository.save(event);
+        Long rateSnapshotId = latestRateSnapshotId(event.getCurrency());
+        BigDecimal totalTransferred = convertAll(rateSnapshotId, totals, event.getCurrency());
 
-        boxCurrencyRepository.deleteAll(boxCurrencies);
+        BigDecimal balance = event.getBalance();
+        if (!totals.isEmpty()) {
+            fundraisingEventRepository.addToBalance(eventId, totalTransferred);
+            boxTransferRepository.save(new BoxTransfer(null, event, totalTransferred, event.getCurrency(),
+                    rateSnapshotId, Instant.now()));
+            balance = fundraisingEventRepository.findBalanceById(eventId);
+            eventPublisher.publishEvent(new FundraisingEventChanged(eventId));
+        }
+        if (!boxCurrencies.isEmpty()) {
+            boxCurrencyRepository.deleteAllByIdInBatch(boxCurrencies.stream().map(BoxCurrency::getId).toList());
+        }
+        // One count update per distinct number of emptied currencies, at most one per currency
+        emptiedCurrencies.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((count, boxIds) -> boxRepository.adjustCurrencyCount(boxIds, -count));
 
-        return boxMapper.toDto(box);
+        return new EmptyBoxesResult(eventId, emptiedCurrencies.size(), totalTransferred, balance, event.getCurrency());
+    }
+
+    /**
+     * Has the converter bring its rate table for this currency up to date, recording a snapshot if it
+     * fetched one. Called before the transfer's transaction, so waiting on the rate API holds no connection.
+     */
+    private void loadRates(Currency toCurrency) {
+        currencyConverter.loadRates(toCurrency).join();
+    }
+
+    /**
+     * @return ID of the rate snapshot transfers into this currency are converted with,
+     *         or null while none has been recorded and the static rates apply
+     */
+    private Long latestRateSnapshotId(Currency toCurrency) {
+        return rateSnapshots.latestFor(toCurrency)
+                .map(ExchangeRateSnapshots.RateTable::snapshotId)
+                .orElse(null);
+    }
+
+    private BigDecimal convertAll(Long rateSnapshotId, Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+        return rateSnapshotId != null
+                ? rateSnapshots.convertAll(rateSnapshotId, amounts, toCurrency)
+                : currencyConverter.convertAll(amounts, toCurrency);
+    }
+
+    /**
+     * Reads the box's currency count, re-reading it only if pending write-behind
+     * deposits had to be flushed after the box was loaded.
+     */
+    private boolean isBoxEmpty(Box box) {
+        if (flushPendingDeposits(box.getId())) {
+            return boxRepository.findCurrencyCountById(box.getId()).orElse(0) == 0;
+        }
+        return box.isEmpty();
+    }
+
+    /**
+     * In write-behind mode, makes donations still held by the ledger visible in box_currencies
+     * before the box's contents are read.
+     * @return Whether anything was flushed
+     */
+    private boolean flushPendingDeposits(Long boxId) {
+        if (donationLedger != null && donationLedger.hasPendingDeposits(boxId)) {
+            donationLedger.flush();
+            return true;
+        }
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BulkBoxResponse;
+import com.fundraising.dto.BulkBoxResult;
+import com.fundraising.entity.Box;
+import com.fundraising.enums.BulkRowStatus;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registers and unregisters many boxes per request, e.g. before a campaign. Identifiers are
+ * checked against the database with one {@code IN} query, new boxes are inserted in JDBC
+ * batches and unregistered boxes are removed with set-based deletes.
+ */
+@Service
+public class BulkBoxService {
+
+    private final BoxRepository boxRepository;
+    private final BoxCurrencyRepository boxCurrencyRepository;
+
+    public BulkBoxService(BoxRepository boxRepository, BoxCurrencyRepository boxCurrencyRepository) {
+        this.boxRepository = boxRepository;
+        this.boxCurrencyRepository = boxCurrencyRepository;
+    }
+
+    @Transactional
+    @Timed(value = "boxes.operations", extraTags = {"operation", "bulk-register"})
+    public BulkBoxResponse registerBoxes(List<String> boxIdentifiers) {
+        List<Candidate> candidates = validate(boxIdentifiers);
+        Map<String, Long> existing = findIds(candidates);
+
+        List<Candidate> accepted = new ArrayList<>();
+        List<Box> boxes = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.isValid()) {
+                continue;
+            }
+            if (existing.containsKey(candidate.boxIdentifier)) {
+                candidate.boxId = existing.get(candidate.boxIdentifier);
+                candidate.error = "Box with identifier '" + candidate.boxIdentifier + "' already exists";
+            } else {
+                accepted.add(candidate);
+                boxes.add(new Box(candidate.boxIdentifier));
+            }
+        }
+
+        boxRepository.saveAll(boxes);
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).boxId = boxes.get(i).getId();
+        }
+        return toResponse(candidates);
+    }
+
+    /**
+     * Unregisters the boxes with the given identifiers. As with a single unregistration, the
+     * money in them is discarded rather than transferred to their event.
+     */
+    @Transactional
+    @Timed(value = "boxes.operations", extraTags = {"operation", "bulk-unregister"})
+    public BulkBoxResponse unregisterBoxes(List<String> boxIdentifiers) {
+        List<Candidate> candidates = validate(boxIdentifiers);
+        Map<String, Long> existing = findIds(candidates);
+
+        List<Long> boxIds = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.isValid()) {
+                continue;
+            }
+            candidate.boxId = existing.get(candidate.boxIdentifier);
+            if (candidate.boxId == null) {
+                candidate.error = "Box '" + candidate.boxIdentifier + "' not found";
+            } else {
+                boxIds.add(candidate.boxId);
+            }
+        }
+
+        if (!boxIds.isEmpty()) {
+            boxCurrencyRepository.deleteByBoxIdIn(boxIds);
+            boxRepository.deleteByIdIn(boxIds);
+        }
+        return toResponse(candidates);
+    }
+
+    private static List<Candidate> validate(List<String> boxIdentifiers) {
+        List<Candidate> candidates = new ArrayList<>(boxIdentifiers.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < boxIdentifiers.size(); i++) {
+            Candidate candidate = new Candidate(i + 1, boxIdentifiers.get(i));
+            if (candidate.boxIdentifier == null || candidate.boxIdentifier.isBlank()) {
+                candidate.error = "Box identifier is required";
+            } else if (!seen.add(candidate.boxIdentifier)) {
+                candidate.error = "Box identifier '" + candidate.boxIdentifier + "' is listed more than once";
+            }
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    private Map<String, Long> findIds(List<Candidate> candidates) {
+        List<String> identifiers = candidates.stream()
+                .filter(Candidate::isValid)
+                .map(candidate -> candidate.boxIdentifier)
+                .toList();
+        Map<String, Long> ids = new HashMap<>();
+        if (!identifiers.isEmpty()) {
+            for (Object[] row : boxRepository.findIdsByBoxIdentifierIn(identifiers)) {
+                ids.put((String) row[1], (Long) row[0]);
+            }
+        }
+        return ids;
+    }
+
+    private static BulkBoxResponse toResponse(List<Candidate> candidates) {
+        List<BulkBoxResult> results = new ArrayList<>(candidates.size());
+        int applied = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.isValid()) {
+                applied++;
+                results.add(new BulkBoxResult(candidate.row, candidate.boxIdentifier, candidate.boxId,
+                        BulkRowStatus.APPLIED, null));
+            } else {
+                results.add(new BulkBoxResult(candidate.row, candidate.boxIdentifier, candidate.boxId,
+                        BulkRowStatus.REJECTED, candidate.error));
+            }
+        }
+        return new BulkBoxResponse(applied, candidates.size() - applied, results);
+    }
+
+    private static final class Candidate {
+        private final int row;
+        private final String boxIdentifier;
+        private Long boxId;
+        private String error;
+
+        private Candidate(int row, String boxIdentifier) {
+            this.row = row;
+            this.boxIdentifier = boxIdentifier;
+        }
+
+        private boolean isValid() {
+            return error == null;
+        }
+    }
+}
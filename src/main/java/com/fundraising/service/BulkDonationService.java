@@ -0,0 +1,241 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BulkDonationResponse;
+import com.fundraising.dto.BulkDonationResult;
+import com.fundraising.dto.BulkDonationRow;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.BulkRowStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies whole uploads of counted box contents at once. Rows are validated up front,
+ * merged per box and currency, and written in one transaction so that Hibernate can
+ * send the resulting inserts and updates in JDBC batches.
+ * <p>
+ * If a concurrent donation creates one of the (box, currency) rows the upload is about to
+ * insert, the transaction is retried once: the retry finds the row and adds to it instead.
+ */
+@Service
+public class BulkDonationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDonationService.class);
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final String CSV_HEADER = "boxidentifier";
+    // Largest IN list per query; a 100k-row upload otherwise binds 100k parameters in one statement
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final BoxRepository boxRepository;
+    private final BoxCurrencyRepository boxCurrencyRepository;
+    private final RetryingTransactionTemplate retryingTransactions;
+    private final EntityManager entityManager;
+
+    public BulkDonationService(BoxRepository boxRepository, BoxCurrencyRepository boxCurrencyRepository,
+                               RetryingTransactionTemplate retryingTransactions, EntityManager entityManager) {
+        this.boxRepository = boxRepository;
+        this.boxCurrencyRepository = boxCurrencyRepository;
+        this.retryingTransactions = retryingTransactions;
+        this.entityManager = entityManager;
+    }
+
+    @Timed(value = "boxes.operations", extraTags = {"operation", "bulk-add-money"})
+    public BulkDonationResponse addDonations(List<BulkDonationRow> rows) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            BulkDonationRow row = rows.get(i);
+            candidates.add(new Candidate(i + 1, row == null ? new BulkDonationRow() : row, null));
+        }
+        return apply(candidates);
+    }
+
+    /**
+     * Same as {@link #addDonations(List)} for a CSV upload with the columns
+     * {@code boxIdentifier,currency,amount} and an optional header line.
+     */
+    @Timed(value = "boxes.operations", extraTags = {"operation", "bulk-add-money"})
+    public BulkDonationResponse addDonationsFromCsv(String csv) {
+        List<Candidate> candidates = new ArrayList<>();
+        String[] lines = csv.split("\r?\n");
+        int rowNumber = 0;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || (i == 0 && line.toLowerCase().startsWith(CSV_HEADER))) {
+                continue;
+            }
+            candidates.add(parseCsvLine(++rowNumber, line));
+        }
+        return apply(candidates);
+    }
+
+    private BulkDonationResponse apply(List<Candidate> candidates) {
+        candidates.forEach(Candidate::validate);
+
+        try {
+            return retryingTransactions.execute(status -> write(candidates));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Bulk donation raced a concurrent first deposit, retrying: {}", e.getMessage());
+            return retryingTransactions.execute(status -> write(candidates));
+        }
+    }
+
+    private BulkDonationResponse write(List<Candidate> candidates) {
+        // None of the chunked queries below reads this upload's own unflushed changes, and the changes are
+        // flushed explicitly before the count updates. Without this, Hibernate would dirty-check every box
+        // and row in the session before each chunk, which makes a large upload quadratic.
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+
+        Set<String> identifiers = candidates.stream()
+                .filter(Candidate::isValid)
+                .map(candidate -> candidate.row.getBoxIdentifier())
+                .collect(Collectors.toSet());
+        Map<String, Box> boxes = chunked(identifiers).stream()
+                .flatMap(chunk -> boxRepository.findByBoxIdentifierIn(chunk).stream())
+                .collect(Collectors.toMap(Box::getBoxIdentifier, Function.identity()));
+
+        Map<Long, Map<Currency, BigDecimal>> merged = new HashMap<>();
+        Map<Long, Box> boxesById = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.isValid()) {
+                continue;
+            }
+            Box box = boxes.get(candidate.row.getBoxIdentifier());
+            if (box == null) {
+                candidate.error = "Box '" + candidate.row.getBoxIdentifier() + "' not found";
+            } else if (box.getStatus() != BoxStatus.ASSIGNED) {
+                candidate.error = "Box must be assigned to a fundraising event before adding money";
+            } else {
+                boxesById.put(box.getId(), box);
+                merged.computeIfAbsent(box.getId(), id -> new EnumMap<>(Currency.class))
+                        .merge(candidate.row.getCurrency(), candidate.row.getAmount(), BigDecimal::add);
+            }
+        }
+
+        if (!merged.isEmpty()) {
+            applyMerged(merged, boxesById);
+        }
+
+        List<BulkDonationResult> results = new ArrayList<>(candidates.size());
+        int applied = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.isValid()) {
+                applied++;
+                results.add(new BulkDonationResult(candidate.rowNumber, candidate.row.getBoxIdentifier(),
+                        BulkRowStatus.APPLIED, null));
+            } else {
+                results.add(new BulkDonationResult(candidate.rowNumber, candidate.row.getBoxIdentifier(),
+                        BulkRowStatus.REJECTED, candidate.error));
+            }
+        }
+        return new BulkDonationResponse(applied, candidates.size() - applied, results);
+    }
+
+    private void applyMerged(Map<Long, Map<Currency, BigDecimal>> merged, Map<Long, Box> boxesById) {
+        // Row locks keep concurrent single donations from interleaving with these updates
+        for (List<Long> boxIds : chunked(merged.keySet())) {
+            for (BoxCurrency existing : boxCurrencyRepository.findByBoxIdInForUpdate(boxIds)) {
+                BigDecimal delta = merged.get(existing.getBox().getId()).remove(existing.getCurrency());
+                if (delta != null) {
+                    existing.setAmount(existing.getAmount().add(delta));
+                }
+            }
+        }
+
+        List<BoxCurrency> inserts = new ArrayList<>();
+        merged.forEach((boxId, amounts) -> amounts.forEach((currency, amount) ->
+                inserts.add(new BoxCurrency(boxesById.get(boxId), currency, amount))));
+        // Flushed here so that a row inserted concurrently fails this attempt rather than the commit
+        boxCurrencyRepository.saveAllAndFlush(inserts);
+
+        // One count update per distinct number of new currencies, at most one per currency
+        inserts.stream()
+                .collect(Collectors.groupingBy(inserted -> inserted.getBox().getId(), Collectors.counting()))
+                .entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> entry.getValue().intValue(),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((count, boxIds) -> chunked(boxIds)
+                        .forEach(chunk -> boxRepository.adjustCurrencyCount(chunk, count)));
+    }
+
+    private static <T> List<List<T>> chunked(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += LOOKUP_CHUNK_SIZE) {
+            chunks.add(list.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private static Candidate parseCsvLine(int rowNumber, String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            return new Candidate(rowNumber, new BulkDonationRow(), "Expected 3 columns: boxIdentifier,currency,amount");
+        }
+
+        BulkDonationRow row = new BulkDonationRow();
+        row.setBoxIdentifier(fields[0].trim());
+        try {
+            row.setCurrency(Currency.valueOf(fields[1].trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return new Candidate(rowNumber, row, "Unknown currency '" + fields[1].trim() + "'");
+        }
+        try {
+            row.setAmount(new BigDecimal(fields[2].trim()));
+        } catch (NumberFormatException e) {
+            return new Candidate(rowNumber, row, "Invalid amount '" + fields[2].trim() + "'");
+        }
+        return new Candidate(rowNumber, row, null);
+    }
+
+    private static final class Candidate {
+        private final int rowNumber;
+        private final BulkDonationRow row;
+        private String error;
+
+        private Candidate(int rowNumber, BulkDonationRow row, String error) {
+            this.rowNumber = rowNumber;
+            this.row = row;
+            this.error = error;
+        }
+
+        private boolean isValid() {
+            return error == null;
+        }
+
+        // Same rules as AddMoneyRequest
+        private void validate() {
+            if (error != null) {
+                return;
+            }
+            if (row.getBoxIdentifier() == null || row.getBoxIdentifier().isBlank()) {
+                error = "Box identifier is required";
+            } else if (row.getCurrency() == null) {
+                error = "Currency is required";
+            } else if (row.getAmount() == null) {
+                error = "Amount is required";
+            } else if (row.getAmount().compareTo(MIN_AMOUNT) < 0) {
+                error = "Amount must be greater than 0";
+            }
+        }
+    }
+}
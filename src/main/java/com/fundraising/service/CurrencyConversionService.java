@@ -5,23 +5,31 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Map;
 
 @Service("staticCurrencyConverter")
 public class CurrencyConversionService implements CurrencyConverter {
 
-    // Direct exchange rates between all currency pairs
-    private static final Map<String, BigDecimal> EXCHANGE_RATES = Map.of(
-            // From USD
-            "USD_EUR", new BigDecimal("0.85"),
-            "USD_GBP", new BigDecimal("0.75"),
-            // From EUR
-            "EUR_USD", new BigDecimal("1.18"),
-            "EUR_GBP", new BigDecimal("0.88"),
-            // From GBP
-            "GBP_USD", new BigDecimal("1.33"),
-            "GBP_EUR", new BigDecimal("1.13")
-    );
+    private static final int SCALE = 2;
+    private static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    // Direct exchange rates between all currency pairs, indexed by [from.ordinal()][to.ordinal()]
+    private static final BigDecimal[][] EXCHANGE_RATES = new BigDecimal[Currency.values().length][Currency.values().length];
+
+    static {
+        // From USD
+        rate(Currency.USD, Currency.EUR, "0.85");
+        rate(Currency.USD, Currency.GBP, "0.75");
+        // From EUR
+        rate(Currency.EUR, Currency.USD, "1.18");
+        rate(Currency.EUR, Currency.GBP, "0.88");
+        // From GBP
+        rate(Currency.GBP, Currency.USD, "1.33");
+        rate(Currency.GBP, Currency.EUR, "1.13");
+    }
+
+    private static void rate(Currency from, Currency to, String rate) {
+        EXCHANGE_RATES[from.ordinal()][to.ordinal()] = new BigDecimal(rate);
+    }
 
     /**
      * Converts amount from source currency to target currency using direct exchange rates
@@ -35,14 +43,12 @@ public class CurrencyConversionService implements CurrencyConverter {
             return amount;
         }
 
-        String rateKey = fromCurrency.name() + "_" + toCurrency.name();
-        BigDecimal rate = EXCHANGE_RATES.get(rateKey);
+        BigDecimal rate = EXCHANGE_RATES[fromCurrency.ordinal()][toCurrency.ordinal()];
 
         if (rate == null) {
             throw new IllegalArgumentException("Exchange rate not found for " + fromCurrency + " to " + toCurrency);
         }
 
-        BigDecimal convertedAmount = amount.multiply(rate);
-        return convertedAmount.setScale(2, RoundingMode.HALF_UP);
+        return amount.multiply(rate).setScale(SCALE, ROUNDING);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.fundraising.service;
 
 import com.fundraising.enums.Currency;
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for currency conversion services
@@ -16,4 +18,39 @@ public interface CurrencyConverter {
      * @return Converted amount rounded to 2 decimal places
      */
     BigDecimal convert(BigDecimal amount, Currency fromCurrency, Currency toCurrency);
-}
\ No newline at end of file
+
+    /**
+     * Converts amounts held in several currencies into one currency and adds them up. The
+     * default converts each amount on its own; converters backed by a rate API override it
+     * to look up a single rate table for the whole map.
+     * @param amounts Amounts by source currency
+     * @param toCurrency Target currency
+     * @return Sum of the converted amounts, each rounded to 2 decimal places
+     */
+    default BigDecimal convertAll(Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Currency, BigDecimal> amount : amounts.entrySet()) {
+            total = total.add(convert(amount.getValue(), amount.getKey(), toCurrency));
+        }
+        return total;
+    }
+
+    /**
+     * Converts without blocking the caller, for reactive code paths. The default converts on
+     * the calling thread, which suits converters that never wait on I/O.
+     * @return Future of the converted amount rounded to 2 decimal places
+     */
+    default CompletableFuture<BigDecimal> convertAsync(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+        return CompletableFuture.completedFuture(convert(amount, fromCurrency, toCurrency));
+    }
+
+    /**
+     * Brings the rate table used for converting into the given currency up to date, so that a
+     * snapshot of it is recorded before a transfer reads the latest one. The default does
+     * nothing, as converters with fixed rates have no table to load.
+     * @return Future completed once the table is loaded; it never completes exceptionally
+     */
+    default CompletableFuture<Void> loadRates(Currency toCurrency) {
+        return CompletableFuture.completedFuture(null);
+    }
+}
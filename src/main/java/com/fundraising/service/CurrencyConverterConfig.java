@@ -0,0 +1,22 @@
+package com.fundraising.service;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class CurrencyConverterConfig {
+
+    /**
+     * Makes {@code transferCurrencyConverter} an alias of the converter bean named by
+     * {@code currency.transfers.converter}, which box transfers convert with. An alias rather
+     * than another bean, so the converter is still metered under its own name.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor transferCurrencyConverterAlias(Environment environment) {
+        return beanFactory -> beanFactory.registerAlias(
+                environment.getProperty("currency.transfers.converter", "staticCurrencyConverter"),
+                "transferCurrencyConverter");
+    }
+}
@@ -0,0 +1,217 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import com.fundraising.enums.Currency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of accepted donations, split into segments.
+ * Each line is {@code boxId,CURRENCY,amount}. A segment is sealed when the ledger
+ * drains its deltas and deleted once those deltas are committed to the database.
+ * <p>
+ * With fsync enabled, appends are group-committed: writers append under one lock and then
+ * share a single {@code force} that covers every line written before it started.
+ */
+class DonationJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationJournal.class);
+    private static final String SEGMENT_PREFIX = "donations-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean fsync;
+    // Not synchronized: blocking file I/O inside a monitor would pin the carrier of a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    // Held while forcing the channel to disk; taken after lock when both are needed
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private long nextSequence;
+    private Path currentSegment;
+    private volatile FileChannel channel;
+    private boolean currentSegmentHasData;
+    // Lines appended so far, and how many of them are known to be on disk; guarded by forceLock
+    private volatile long appended;
+    private long forced;
+
+    DonationJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+        this.nextSequence = existingSegments().stream()
+                .mapToLong(DonationJournal::sequenceOf)
+                .max()
+                .orElse(0) + 1;
+    }
+
+    /**
+     * Segments left on disk, oldest first. Only meaningful before {@link #open()}.
+     */
+    List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(DonationJournal::isSegment)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    void open() throws IOException {
+        lock.lock();
+        try {
+            openNewSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void append(Long boxId, Currency currency, BigDecimal amount) {
+        String line = boxId + "," + currency.name() + "," + amount.toPlainString() + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        long position;
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            currentSegmentHasData = true;
+            position = ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal donation for box " + boxId, e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (fsync) {
+            awaitForced(position, boxId);
+        }
+    }
+
+    /**
+     * Returns once the given line is on disk. Writers queued behind a running force find their
+     * lines covered by the next one, so one force serves everyone who appended in the meantime.
+     */
+    private void awaitForced(long line, Long boxId) {
+        forceLock.lock();
+        try {
+            if (forced >= line) {
+                return;
+            }
+            long upTo = appended;
+            channel.force(false);
+            forced = upTo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal donation for box " + boxId, e);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current segment and starts a new one.
+     * @return The sealed segment, or null if nothing was written to it
+     */
+    Path rotate() throws IOException {
+        lock.lock();
+        try {
+            if (!currentSegmentHasData) {
+                return null;
+            }
+            Path sealed = currentSegment;
+            // Writers still waiting for their force are covered by this one, before the channel closes
+            forceLock.lock();
+            try {
+                if (fsync) {
+                    channel.force(false);
+                }
+                forced = appended;
+                channel.close();
+            } finally {
+                forceLock.unlock();
+            }
+            openNewSegment();
+            return sealed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void delete(Collection<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete applied journal segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        forceLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (currentSegment != null && !currentSegmentHasData) {
+                Files.deleteIfExists(currentSegment);
+            }
+        } finally {
+            forceLock.unlock();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the deltas recorded in a segment. A torn last line left by a crash has no
+     * line terminator; it belongs to a donation that was never acknowledged and is ignored.
+     */
+    static List<BoxCurrencyDelta> read(Path segment) throws IOException {
+        String content = Files.readString(segment, StandardCharsets.US_ASCII);
+        List<BoxCurrencyDelta> deltas = new ArrayList<>();
+        int lineStart = 0;
+        int lineEnd;
+        while ((lineEnd = content.indexOf('\n', lineStart)) >= 0) {
+            String line = content.substring(lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+            String[] fields = line.split(",");
+            try {
+                deltas.add(new BoxCurrencyDelta(Long.valueOf(fields[0]), Currency.valueOf(fields[1]),
+                        new BigDecimal(fields[2])));
+            } catch (RuntimeException e) {
+                logger.warn("Skipping unreadable journal entry '{}' in {}", line, segment);
+            }
+        }
+        return deltas;
+    }
+
+    private void openNewSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        currentSegmentHasData = false;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
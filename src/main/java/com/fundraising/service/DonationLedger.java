@@ -0,0 +1,321 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import com.fundraising.entity.DonationJournalSegment;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.DonationJournalSegmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind ledger for donations. Deposits are journaled to disk, accumulated per
+ * (box, currency) in lock-striped in-memory maps and periodically flushed to
+ * box_currencies in JDBC batches, so the donation hot path does no database write.
+ * <p>
+ * A flush drains all stripes and seals the current journal segment; the segment is
+ * deleted only after its deltas are committed and synced to the database file, and the
+ * commit records the segment name so that replaying the journal at startup never applies
+ * a segment twice.
+ */
+@Service
+@ConditionalOnProperty(name = "donations.write-behind.enabled", havingValue = "true")
+public class DonationLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationLedger.class);
+    private static final int STRIPES = 64;
+
+    private final BoxCurrencyRepository boxCurrencyRepository;
+    private final DonationJournalSegmentRepository segmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DonationJournal journal;
+    private final int maxPendingEntries;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    // Deposits hold the read lock; draining the stripes and sealing the journal takes the write lock
+    private final ReentrantReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicInteger pendingEntries = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    // Sealed segments whose deltas are not committed yet; guarded by flushLock
+    private final List<Path> unappliedSegments = new ArrayList<>();
+    // Deltas drained by the running flush and not committed yet; replaced, never modified
+    private volatile Map<LedgerKey, BigDecimal> inFlight = Map.of();
+
+    public DonationLedger(BoxCurrencyRepository boxCurrencyRepository,
+                          DonationJournalSegmentRepository segmentRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${donations.write-behind.journal-dir:./data/donation-journal}") Path journalDir,
+                          @Value("${donations.write-behind.journal-fsync:true}") boolean journalFsync,
+                          @Value("${donations.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${donations.write-behind.max-pending-entries:1000}") int maxPendingEntries)
+            throws IOException {
+        this.boxCurrencyRepository = boxCurrencyRepository;
+        this.segmentRepository = segmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Never join a caller's transaction: segments are deleted as soon as this one commits
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.journal = new DonationJournal(journalDir, journalFsync);
+        this.maxPendingEntries = maxPendingEntries;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        recover();
+        journal.open();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "donation-ledger-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Accepts a donation. Once this returns the donation is durable in the journal,
+     * even though box_currencies is only updated by the next flush.
+     */
+    public void deposit(Long boxId, Currency currency, BigDecimal amount) {
+        LedgerKey key = new LedgerKey(boxId, currency);
+        drainLock.readLock().lock();
+        try {
+            journal.append(boxId, currency, amount);
+            accumulate(key, amount);
+        } finally {
+            drainLock.readLock().unlock();
+        }
+
+        if (pendingEntries.get() >= maxPendingEntries && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::scheduledFlush);
+        }
+    }
+
+    /**
+     * @return Whether the box has donations that are not committed to the database yet, including
+     * those a running flush has drained but not committed
+     */
+    public boolean hasPendingDeposits(Long boxId) {
+        for (Currency currency : Currency.values()) {
+            LedgerKey key = new LedgerKey(boxId, currency);
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                if (stripe.deltas.containsKey(key)) {
+                    return true;
+                }
+            }
+        }
+        // Checked after the stripes: a drain moves deltas from the stripes into inFlight atomically
+        Map<LedgerKey, BigDecimal> drained = inFlight;
+        for (Currency currency : Currency.values()) {
+            if (drained.containsKey(new LedgerKey(boxId, currency))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes every pending delta to box_currencies in one transaction.
+     * On failure the deltas are kept in memory for the next attempt and the exception is rethrown.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<LedgerKey, BigDecimal> drained = drain();
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            List<String> segmentNames = unappliedSegments.stream()
+                    .map(segment -> segment.getFileName().toString())
+                    .toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    boxCurrencyRepository.applyDeltas(toDeltas(drained));
+                    segmentRepository.saveAll(checkpoints(segmentNames));
+                });
+            } catch (RuntimeException e) {
+                restore(drained);
+                throw e;
+            } finally {
+                inFlight = Map.of();
+            }
+
+            checkpointDatabase();
+            journal.delete(unappliedSegments);
+            unappliedSegments.clear();
+            forgetCheckpoints(segmentNames);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flusher.shutdown();
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void scheduledFlush() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Donation ledger flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private Map<LedgerKey, BigDecimal> drain() {
+        drainLock.writeLock().lock();
+        try {
+            // Sealed before the stripes are swapped: if the journal cannot rotate, the deltas stay pending
+            Path sealed = journal.rotate();
+            if (sealed != null) {
+                unappliedSegments.add(sealed);
+            }
+
+            Map<LedgerKey, BigDecimal> drained = new HashMap<>();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    drained.putAll(stripe.deltas);
+                    stripe.deltas = new HashMap<>();
+                }
+            }
+            pendingEntries.set(0);
+            inFlight = drained;
+            return drained;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to rotate donation journal", e);
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+    }
+
+    private void restore(Map<LedgerKey, BigDecimal> drained) {
+        drainLock.readLock().lock();
+        try {
+            drained.forEach(this::accumulate);
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(LedgerKey key, BigDecimal amount) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            BigDecimal previous = stripe.deltas.put(key, amount);
+            if (previous == null) {
+                pendingEntries.incrementAndGet();
+            } else {
+                stripe.deltas.put(key, previous.add(amount));
+            }
+        }
+    }
+
+    private void checkpointDatabase() {
+        // A commit can still be in H2's write buffer; the segment is the only other copy of its deltas
+        transactionTemplate.executeWithoutResult(status -> segmentRepository.checkpointDatabase());
+    }
+
+    private void forgetCheckpoints(List<String> segmentNames) {
+        // The segment files are gone, so their checkpoints are no longer needed to prevent a replay
+        try {
+            segmentRepository.deleteAllByIdInBatch(segmentNames);
+        } catch (RuntimeException e) {
+            logger.warn("Could not remove donation journal checkpoints: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies journal segments left behind by a previous run that stopped before flushing them.
+     */
+    private void recover() throws IOException {
+        List<Path> segments = journal.existingSegments();
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        List<String> segmentNames = segments.stream()
+                .map(segment -> segment.getFileName().toString())
+                .toList();
+        List<String> alreadyApplied = segmentRepository.findAllById(segmentNames).stream()
+                .map(DonationJournalSegment::getSegmentName)
+                .toList();
+
+        Map<LedgerKey, BigDecimal> recovered = new HashMap<>();
+        for (Path segment : segments) {
+            if (alreadyApplied.contains(segment.getFileName().toString())) {
+                continue;
+            }
+            for (BoxCurrencyDelta delta : DonationJournal.read(segment)) {
+                recovered.merge(new LedgerKey(delta.getBoxId(), delta.getCurrency()), delta.getAmount(), BigDecimal::add);
+            }
+        }
+
+        logger.info("Replaying {} donation journal segment(s) with {} pending delta(s)",
+                segments.size() - alreadyApplied.size(), recovered.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            boxCurrencyRepository.applyDeltas(toDeltas(recovered));
+            segmentRepository.saveAll(checkpoints(segmentNames.stream()
+                    .filter(name -> !alreadyApplied.contains(name))
+                    .toList()));
+        });
+        checkpointDatabase();
+        journal.delete(segments);
+        forgetCheckpoints(segmentNames);
+    }
+
+    private Stripe stripeFor(LedgerKey key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    private static List<BoxCurrencyDelta> toDeltas(Map<LedgerKey, BigDecimal> deltas) {
+        List<BoxCurrencyDelta> result = new ArrayList<>(deltas.size());
+        deltas.forEach((key, amount) -> result.add(new BoxCurrencyDelta(key.boxId(), key.currency(), amount)));
+        return result;
+    }
+
+    private static List<DonationJournalSegment> checkpoints(Collection<String> segmentNames) {
+        Instant now = Instant.now();
+        return segmentNames.stream()
+                .map(name -> new DonationJournalSegment(name, now))
+                .toList();
+    }
+
+    private record LedgerKey(Long boxId, Currency currency) {}
+
+    private static final class Stripe {
+        private Map<LedgerKey, BigDecimal> deltas = new HashMap<>();
+    }
+}
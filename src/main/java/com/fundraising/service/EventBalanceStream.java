@@ -0,0 +1,57 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.FundraisingEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Pushes the balance of a fundraising event to Server-Sent Events subscribers. Each
+ * subscriber gets the current state first, then at most one update per
+ * {@code coalesceInterval} carrying the latest balance, plus a comment line every
+ * {@code heartbeat} so that idle connections are kept open and dead ones are detected.
+ * <p>
+ * Subscribers hold no thread while idle: the streams are driven by the projection's
+ * change sink and Reactor's shared timers.
+ */
+@Service
+public class EventBalanceStream {
+
+    private final EventLeaderboard eventLeaderboard;
+    private final Duration coalesceInterval;
+    private final Duration heartbeat;
+
+    public EventBalanceStream(EventLeaderboard eventLeaderboard,
+                              @Value("${events.stream.coalesce-interval:1s}") Duration coalesceInterval,
+                              @Value("${events.stream.heartbeat:15s}") Duration heartbeat) {
+        this.eventLeaderboard = eventLeaderboard;
+        this.coalesceInterval = coalesceInterval;
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * @return The event's stream; empty if the event does not exist
+     */
+    public Optional<Flux<ServerSentEvent<FundraisingEventDTO>>> subscribe(Long eventId) {
+        return eventLeaderboard.snapshot().find(eventId).map(current -> stream(eventId, current));
+    }
+
+    private Flux<ServerSentEvent<FundraisingEventDTO>> stream(Long eventId, FundraisingEventDTO current) {
+        Flux<ServerSentEvent<FundraisingEventDTO>> balances = eventLeaderboard.changes()
+                .filter(event -> event.getId().equals(eventId))
+                // Only the latest balance is worth keeping for a subscriber that falls behind
+                .onBackpressureLatest()
+                .sample(coalesceInterval)
+                .startWith(current)
+                .map(event -> ServerSentEvent.builder(event).event("balance").build());
+
+        Flux<ServerSentEvent<FundraisingEventDTO>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<FundraisingEventDTO>builder().comment("keep-alive").build());
+
+        return Flux.merge(balances, heartbeats);
+    }
+}
@@ -0,0 +1,155 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.FundraisingEventBalance;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.FundraisingEventRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory projection of the event balances that serves the event listing and the
+ * leaderboard without database access. It is updated after every committed event
+ * creation or balance change and resynchronised from the database on a schedule, which
+ * also picks up changes made by other instances.
+ * <p>
+ * Each event is kept at the highest {@code @Version} seen, so updates applied out of
+ * order never roll a balance back. Every change publishes a new immutable
+ * {@link Snapshot}, whose ETag lets unchanged polls be answered with 304.
+ */
+@Service
+public class EventLeaderboard {
+
+    private final FundraisingEventRepository fundraisingEventRepository;
+    private final CurrencyConverter currencyConverter;
+    private final Currency rankingCurrency;
+
+    // Distinguishes the ETags of this run from those issued before a restart
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Map<Long, Entry> entries = new HashMap<>();  // guarded by this
+    private long version;                                       // guarded by this
+    private volatile Snapshot snapshot;
+    // Emitted to while holding the monitor, which keeps the emissions serialised
+    private final Sinks.Many<FundraisingEventDTO> changes = Sinks.many().multicast().directBestEffort();
+
+    public EventLeaderboard(FundraisingEventRepository fundraisingEventRepository,
+                            @Qualifier("staticCurrencyConverter") CurrencyConverter currencyConverter,
+                            @Value("${events.leaderboard.currency:USD}") Currency rankingCurrency) {
+        this.fundraisingEventRepository = fundraisingEventRepository;
+        this.currencyConverter = currencyConverter;
+        this.rankingCurrency = rankingCurrency;
+    }
+
+    /**
+     * @return The current listing and ranking; loaded from the database on first use
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            resync();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * @return Hot stream of every event whose balance changed or that was created, as it is
+     *         applied to the projection. Subscribers that cannot keep up miss updates rather
+     *         than slowing down the others.
+     */
+    public Flux<FundraisingEventDTO> changes() {
+        return changes.asFlux();
+    }
+
+    /**
+     * Runs after the change commits, on the connection of the committed transaction: taking
+     * another connection here could exhaust the pool while every committer waits for one.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(FundraisingEventChanged change) {
+        fundraisingEventRepository.findCurrentBalanceById(change.eventId()).ifPresent(event -> {
+            synchronized (this) {
+                if (apply(event)) {
+                    publish();
+                }
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${events.leaderboard.resync-ms:60000}",
+               fixedDelayString = "${events.leaderboard.resync-ms:60000}")
+    public void resync() {
+        List<FundraisingEventBalance> events = fundraisingEventRepository.findAllCurrentBalances();
+        synchronized (this) {
+            boolean changed = snapshot == null;
+            for (FundraisingEventBalance event : events) {
+                changed |= apply(event);
+            }
+            if (changed) {
+                publish();
+            }
+        }
+    }
+
+    // Must hold the monitor
+    private boolean apply(FundraisingEventBalance event) {
+        Entry current = entries.get(event.getId());
+        if (current != null && current.version >= event.getVersion()) {
+            return false;
+        }
+        BigDecimal rankingBalance = currencyConverter.convert(event.getBalance(), event.getCurrency(), rankingCurrency);
+        FundraisingEventDTO dto = new FundraisingEventDTO(event.getId(), event.getName(), event.getBalance(), event.getCurrency());
+        entries.put(event.getId(), new Entry(dto, event.getVersion(), rankingBalance));
+        changes.tryEmitNext(dto);
+        return true;
+    }
+
+    // Must hold the monitor
+    private void publish() {
+        List<FundraisingEventDTO> events = entries.values().stream()
+                .sorted(Comparator.comparing(entry -> entry.event.getId()))
+                .map(Entry::event)
+                .toList();
+        List<FundraisingEventDTO> ranking = entries.values().stream()
+                .sorted(Comparator.comparing(Entry::rankingBalance).reversed()
+                        .thenComparing(entry -> entry.event.getId()))
+                .map(Entry::event)
+                .toList();
+        snapshot = new Snapshot(epoch + "-" + ++version, events, ranking);
+    }
+
+    private record Entry(FundraisingEventDTO event, long version, BigDecimal rankingBalance) {}
+
+    /**
+     * Immutable state of the projection at one point in time.
+     * @param etag Changes whenever the listing or the ranking changes
+     * @param events All events in ID order
+     * @param ranking All events by balance, highest first, compared in the ranking currency
+     */
+    public record Snapshot(String etag, List<FundraisingEventDTO> events, List<FundraisingEventDTO> ranking) {
+
+        public Optional<FundraisingEventDTO> find(Long eventId) {
+            return events.stream().filter(event -> event.getId().equals(eventId)).findFirst();
+        }
+
+        /**
+         * @return The first {@code limit} events of the ranking; all of them if there are fewer
+         */
+        public List<FundraisingEventDTO> top(int limit) {
+            return ranking.subList(0, Math.min(Math.max(limit, 0), ranking.size()));
+        }
+    }
+}
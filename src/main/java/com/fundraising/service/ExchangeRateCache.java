@@ -0,0 +1,168 @@
+package com.fundraising.service;
+
+import com.fundraising.enums.Currency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Caches the full rate table of each base currency.
+ * <ul>
+ *   <li>Tables are fresh for {@code ttl}; within {@code refreshAhead} of expiry a hit
+ *       starts a background reload and is still served from the cache.</li>
+ *   <li>Concurrent misses for the same base share one in-flight load.</li>
+ *   <li>An expired table younger than {@code ttl + staleWhileRevalidate} triggers a reload,
+ *       but is served as is if the reload does not finish within {@code staleWait}.</li>
+ * </ul>
+ */
+class ExchangeRateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateCache.class);
+
+    private final Function<Currency, CompletableFuture<Map<String, BigDecimal>>> loader;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleWait;
+    private final Duration loadTimeout;
+    private final Clock clock;
+
+    private final Map<Currency, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Currency, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    ExchangeRateCache(Function<Currency, CompletableFuture<Map<String, BigDecimal>>> loader,
+                      Duration ttl, Duration refreshAhead, Duration staleWhileRevalidate,
+                      Duration staleWait, Duration loadTimeout, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleWait = staleWait;
+        this.loadTimeout = loadTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Fills in a table loaded elsewhere, e.g. a persisted snapshot at startup. Its age counts from
+     * {@code loadedAt}, so an old table is only served within the usual stale limits.
+     * A table already in the cache is kept.
+     */
+    void seed(Currency base, Map<String, BigDecimal> rates, Instant loadedAt) {
+        entries.putIfAbsent(base, new Entry(Map.copyOf(rates), loadedAt));
+    }
+
+    /**
+     * @return Rates from the base currency keyed by target currency code
+     * @throws IllegalStateException if no usable table is cached and loading one fails or times out
+     */
+    Map<String, BigDecimal> getRates(Currency base) {
+        try {
+            return getRatesAsync(base).get();
+        } catch (ExecutionException e) {
+            // Already translated by getRatesAsync
+            throw (IllegalStateException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading exchange rates", e);
+        }
+    }
+
+    /**
+     * Same as {@link #getRates} without blocking the caller: the result completes when the
+     * table is available, or fails with an {@link IllegalStateException} after the same waits.
+     */
+    CompletableFuture<Map<String, BigDecimal>> getRatesAsync(Currency base) {
+        Entry entry = entries.get(base);
+        if (entry != null) {
+            Duration age = Duration.between(entry.loadedAt, clock.instant());
+            if (age.compareTo(ttl.minus(refreshAhead)) < 0) {
+                return CompletableFuture.completedFuture(entry.rates);
+            }
+            if (age.compareTo(ttl) < 0) {
+                load(base);
+                return CompletableFuture.completedFuture(entry.rates);
+            }
+            if (age.compareTo(ttl.plus(staleWhileRevalidate)) < 0) {
+                return loadOrServeStale(base, entry);
+            }
+        }
+        // The timeouts apply to dependent futures, never to the load shared with other callers
+        return load(base)
+                .thenApply(Entry::rates)
+                .orTimeout(loadTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((rates, error) -> {
+                    if (error != null) {
+                        throw toIllegalState(error);
+                    }
+                    return rates;
+                });
+    }
+
+    private CompletableFuture<Map<String, BigDecimal>> loadOrServeStale(Currency base, Entry stale) {
+        return load(base)
+                .thenApply(Entry::rates)
+                .completeOnTimeout(stale.rates, staleWait.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    logger.debug("Serving stale {} rates while they are reloaded: {}", base, unwrap(error).getMessage());
+                    return stale.rates;
+                });
+    }
+
+    /**
+     * Starts loading the base currency's table unless a load is already in flight.
+     */
+    private CompletableFuture<Entry> load(Currency base) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(base, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<Map<String, BigDecimal>> loading;
+        try {
+            loading = loader.apply(base);
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        loading.whenComplete((rates, error) -> {
+            // Leave the in-flight slot before completing so that later misses start a new load
+            inFlight.remove(base, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else if (rates == null) {
+                created.completeExceptionally(new IllegalStateException("Empty response from exchange rate API"));
+            } else {
+                Entry entry = new Entry(Map.copyOf(rates), clock.instant());
+                entries.put(base, entry);
+                created.complete(entry);
+            }
+        });
+        return created;
+    }
+
+    private IllegalStateException toIllegalState(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof TimeoutException) {
+            return new IllegalStateException("Exchange rates not loaded within " + loadTimeout.toMillis() + " ms", cause);
+        }
+        return new IllegalStateException("Exchange rates could not be loaded: " + cause.getMessage(), cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private record Entry(Map<String, BigDecimal> rates, Instant loadedAt) {}
+}
@@ -0,0 +1,186 @@
+package com.fundraising.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker around the exchange rate API.
+ * <ul>
+ *   <li>CLOSED: calls pass; the outcome of the last {@code windowSize} calls is recorded and the
+ *       circuit opens once at least {@code minimumCalls} were recorded and the failure rate or the
+ *       slow-call rate reaches its threshold.</li>
+ *   <li>OPEN: calls are rejected without waiting, so callers go straight to cached or static rates.</li>
+ *   <li>HALF_OPEN: after {@code openDuration}, up to {@code halfOpenCalls} probe calls pass; one failed
+ *       or slow probe reopens the circuit, all of them succeeding closes it.</li>
+ * </ul>
+ * The state, transitions and rejected calls are published as {@code currency.api.circuit.*} metrics.
+ */
+@Component
+public class ExchangeRateCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateCircuitBreaker.class);
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final int slowCallRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCalls;
+
+    // All guarded by this
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private final byte[] outcomes;  // ring of recorded outcomes while CLOSED
+    private int nextOutcome;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    @Autowired
+    public ExchangeRateCircuitBreaker(@Value("${currency.circuit-breaker.window-size:20}") int windowSize,
+                                      @Value("${currency.circuit-breaker.minimum-calls:5}") int minimumCalls,
+                                      @Value("${currency.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                      @Value("${currency.circuit-breaker.slow-call-duration:1s}") Duration slowCallDuration,
+                                      @Value("${currency.circuit-breaker.slow-call-rate-threshold:50}") int slowCallRateThreshold,
+                                      @Value("${currency.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                      @Value("${currency.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                                      MeterRegistry meterRegistry) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold,
+                openDuration, halfOpenCalls, meterRegistry, Clock.systemUTC());
+    }
+
+    ExchangeRateCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                               Duration slowCallDuration, int slowCallRateThreshold,
+                               Duration openDuration, int halfOpenCalls,
+                               MeterRegistry meterRegistry, Clock clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.outcomes = new byte[windowSize];
+
+        Gauge.builder("currency.api.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Exchange rate API circuit state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder("currency.api.circuit.rejected")
+                .description("Exchange rate API calls rejected because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return Whether a call may be made now; a caller that gets true must report the outcome
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                rejectedCalls.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                rejectedCalls.increment();
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(Duration duration, boolean failed) {
+        byte outcome = failed ? FAILURE : duration.compareTo(slowCallDuration) >= 0 ? SLOW : SUCCESS;
+        switch (state) {
+            case CLOSED -> record(outcome);
+            case HALF_OPEN -> {
+                if (outcome != SUCCESS) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Late result of a call made before the circuit opened
+            }
+        }
+    }
+
+    private void record(byte outcome) {
+        if (recordedCalls == windowSize) {
+            forget(outcomes[nextOutcome]);
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextOutcome] = outcome;
+        nextOutcome = (nextOutcome + 1) % windowSize;
+        if (outcome == FAILURE) {
+            failedCalls++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+
+        if (recordedCalls >= minimumCalls
+                && (failedCalls * 100 >= failureRateThreshold * recordedCalls
+                || slowCalls * 100 >= slowCallRateThreshold * recordedCalls)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void forget(byte outcome) {
+        if (outcome == FAILURE) {
+            failedCalls--;
+        } else if (outcome == SLOW) {
+            slowCalls--;
+        }
+    }
+
+    private void transitionTo(State next) {
+        logger.info("Exchange rate API circuit {} -> {}", state, next);
+        meterRegistry.counter("currency.api.circuit.transitions", "from", state.name(), "to", next.name()).increment();
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                halfOpenPermitted = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                nextOutcome = 0;
+                recordedCalls = 0;
+                failedCalls = 0;
+                slowCalls = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.fundraising.service;
+
+import com.fundraising.entity.ExchangeRateSnapshot;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.ExchangeRateSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persists the rate tables fetched from the exchange rate API and keeps the latest table
+ * of each base currency in memory. The latest tables are loaded at startup, so transfers
+ * can be converted with recorded rates before the API has been called at all.
+ */
+@Service
+public class ExchangeRateSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateSnapshots.class);
+
+    private final ExchangeRateSnapshotRepository snapshotRepository;
+    private final Map<Currency, RateTable> latest = new ConcurrentHashMap<>();
+
+    public ExchangeRateSnapshots(ExchangeRateSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    @PostConstruct
+    void loadLatest() {
+        for (Currency base : Currency.values()) {
+            snapshotRepository.findFirstByBaseCurrencyOrderByFetchedAtDescIdDesc(base)
+                    .ifPresent(snapshot -> latest.put(base, RateTable.of(snapshot)));
+        }
+        logger.info("Loaded {} exchange rate snapshots", latest.size());
+    }
+
+    /**
+     * Stores a fetched table, keeping only the supported currencies.
+     * @return The stored table, or empty if the table lacks a supported currency
+     */
+    public Optional<RateTable> record(Currency base, Map<String, BigDecimal> rates, Instant fetchedAt) {
+        Map<String, BigDecimal> supported = Stream.of(Currency.values())
+                .filter(currency -> currency != base && rates.get(currency.name()) != null)
+                .collect(Collectors.toMap(Currency::name, currency -> rates.get(currency.name())));
+        if (supported.size() < Currency.values().length - 1) {
+            logger.warn("Not recording {} rates without all supported currencies: {}", base, rates.keySet());
+            return Optional.empty();
+        }
+
+        RateTable table = RateTable.of(snapshotRepository.save(new ExchangeRateSnapshot(base, fetchedAt, supported)));
+        latest.merge(base, table, (current, recorded) ->
+                recorded.fetchedAt().isBefore(current.fetchedAt()) ? current : recorded);
+        return Optional.of(table);
+    }
+
+    /**
+     * @return The latest table of each base currency that has one
+     */
+    public Collection<RateTable> latest() {
+        return List.copyOf(latest.values());
+    }
+
+    /**
+     * The latest table to convert into the given currency: its own table if there is one,
+     * otherwise the most recent table of any base, whose rates are then crossed.
+     */
+    public Optional<RateTable> latestFor(Currency toCurrency) {
+        RateTable own = latest.get(toCurrency);
+        if (own != null) {
+            return Optional.of(own);
+        }
+        return latest.values().stream().max(Comparator.comparing(RateTable::fetchedAt));
+    }
+
+    /**
+     * Converts with the rates of one recorded snapshot, which gives the same result every time.
+     * @throws IllegalArgumentException if there is no snapshot with this ID
+     */
+    public BigDecimal convertAll(Long snapshotId, Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+        return get(snapshotId).convertAll(amounts, toCurrency);
+    }
+
+    private RateTable get(Long snapshotId) {
+        return latest.values().stream()
+                .filter(table -> table.snapshotId().equals(snapshotId))
+                .findFirst()
+                .or(() -> snapshotRepository.findById(snapshotId).map(RateTable::of))
+                .orElseThrow(() -> new IllegalArgumentException("Exchange rate snapshot with ID " + snapshotId + " not found"));
+    }
+
+    /**
+     * Immutable copy of a snapshot's rates from its base currency.
+     */
+    public record RateTable(Long snapshotId, Currency base, Map<String, BigDecimal> rates, Instant fetchedAt) {
+
+        static RateTable of(ExchangeRateSnapshot snapshot) {
+            return new RateTable(snapshot.getId(), snapshot.getBaseCurrency(), Map.copyOf(snapshot.getRates()),
+                    snapshot.getFetchedAt());
+        }
+
+        /**
+         * Converts through the base currency: an amount in X is worth
+         * {@code amount * rate(base -> target) / rate(base -> X)}, rounded once per amount.
+         */
+        public BigDecimal convertAll(Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Map.Entry<Currency, BigDecimal> amount : amounts.entrySet()) {
+                total = total.add(amount.getKey() == toCurrency
+                        ? amount.getValue()
+                        : amount.getValue().multiply(rate(toCurrency)).divide(rate(amount.getKey()), 2, RoundingMode.HALF_UP));
+            }
+            return total;
+        }
+
+        private BigDecimal rate(Currency currency) {
+            if (currency == base) {
+                return BigDecimal.ONE;
+            }
+            BigDecimal rate = rates.get(currency.name());
+            if (rate == null || rate.signum() == 0) {
+                throw new IllegalStateException("Snapshot " + snapshotId + " has no rate for " + currency);
+            }
+            return rate;
+        }
+    }
+}
@@ -2,37 +2,74 @@ package com.fundraising.service;
 
 import com.fundraising.dto.ExchangeRateResponse;
 import com.fundraising.enums.Currency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Currency converter that uses external API for real-time exchange rates
  * Falls back to static rates if external API is unavailable
+ * <p>
+ * Rate tables are cached per base currency (see {@link ExchangeRateCache}), so a conversion
+ * normally costs no HTTP call at all. A conversion waits at most the latency budget for a table
+ * to load, and while the {@link ExchangeRateCircuitBreaker} is open no call is made at all.
+ * Every fetched table is recorded as a snapshot, and the cache starts out with the latest
+ * recorded tables, so a restart does not need the API for rates that are still fresh.
  */
 @Service("externalApiCurrencyConverter")
 public class ExternalApiCurrencyConverter implements CurrencyConverter {
 
     private static final Logger logger = LoggerFactory.getLogger(ExternalApiCurrencyConverter.class);
-    private static final String API_BASE_URL = "https://api.exchangerate-api.com/v4/latest/";
-    private static final Duration TIMEOUT = Duration.ofSeconds(5);
 
     private final WebClient webClient;
     private final CurrencyConverter fallbackConverter;
+    private final Duration timeout;
+    private final ExchangeRateCircuitBreaker circuitBreaker;
+    private final ExchangeRateCache rateCache;
+    private final ExchangeRateSnapshots rateSnapshots;
+    private final Counter fallbacks;
 
     public ExternalApiCurrencyConverter(WebClient.Builder webClientBuilder,
-                                        @Qualifier("staticCurrencyConverter") CurrencyConverter fallbackConverter) {
+                                        @Qualifier("staticCurrencyConverter") CurrencyConverter fallbackConverter,
+                                        @Value("${currency.external-api.base-url:https://api.exchangerate-api.com/v4/latest/}") String baseUrl,
+                                        @Value("${currency.external-api.timeout:5s}") Duration timeout,
+                                        @Value("${currency.external-api.latency-budget:500ms}") Duration latencyBudget,
+                                        @Value("${currency.rates.ttl:10m}") Duration ttl,
+                                        @Value("${currency.rates.refresh-ahead:1m}") Duration refreshAhead,
+                                        @Value("${currency.rates.stale-while-revalidate:1h}") Duration staleWhileRevalidate,
+                                        @Value("${currency.rates.stale-wait:250ms}") Duration staleWait,
+                                        ExchangeRateCircuitBreaker circuitBreaker,
+                                        ExchangeRateSnapshots rateSnapshots,
+                                        MeterRegistry meterRegistry) {
         this.webClient = webClientBuilder
-                .baseUrl(API_BASE_URL)
+                .baseUrl(baseUrl)
                 .build();
         this.fallbackConverter = fallbackConverter;
+        this.timeout = timeout;
+        this.circuitBreaker = circuitBreaker;
+        this.rateSnapshots = rateSnapshots;
+        this.rateCache = new ExchangeRateCache(this::fetchRates, ttl, refreshAhead, staleWhileRevalidate,
+                staleWait, latencyBudget, Clock.systemUTC());
+        rateSnapshots.latest().forEach(table -> rateCache.seed(table.base(), table.rates(), table.fetchedAt()));
+        this.fallbacks = Counter.builder("currency.conversions.fallback")
+                .description("Conversions answered with static rates because no API rates were available")
+                .register(meterRegistry);
     }
 
     @Override
@@ -42,41 +79,129 @@ public class ExternalApiCurrencyConverter implements CurrencyConverter {
         }
 
         try {
-            return convertUsingExternalApi(amount, fromCurrency, toCurrency);
+            return applyRate(rateCache.getRates(fromCurrency), amount, toCurrency);
         } catch (Exception e) {
-            logger.warn("External API conversion failed for {} to {}: {}. Falling back to static rates.",
-                    fromCurrency, toCurrency, e.getMessage());
-            return fallbackConverter.convert(amount, fromCurrency, toCurrency);
+            return fallback(amount, fromCurrency, toCurrency, e);
         }
     }
 
-    private BigDecimal convertUsingExternalApi(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+    /**
+     * Looks up the rate table of the target currency only, once for all amounts, and applies
+     * its rates inverted: an amount in X is worth {@code amount / rate(target -> X)}.
+     */
+    @Override
+    public BigDecimal convertAll(Map<Currency, BigDecimal> amounts, Currency toCurrency) {
+        if (amounts.keySet().stream().allMatch(currency -> currency == toCurrency)) {
+            return amounts.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
         try {
-            ExchangeRateResponse response = webClient
-                    .get()
-                    .uri(fromCurrency.name())
-                    .retrieve()
-                    .bodyToMono(ExchangeRateResponse.class)
-                    .timeout(TIMEOUT)
-                    .block();
-
-            if (response == null || response.getRates() == null) {
-                throw new RuntimeException("Invalid response from exchange rate API");
+            Map<String, BigDecimal> rates = rateCache.getRates(toCurrency);
+            BigDecimal total = BigDecimal.ZERO;
+            for (Map.Entry<Currency, BigDecimal> amount : amounts.entrySet()) {
+                total = total.add(amount.getKey() == toCurrency
+                        ? amount.getValue()
+                        : amount.getValue().divide(rate(rates, amount.getKey()), 2, RoundingMode.HALF_UP));
             }
+            return total;
+        } catch (Exception e) {
+            logger.warn("External API conversion of {} to {} failed: {}. Falling back to static rates.",
+                    amounts.keySet(), toCurrency, e.getMessage());
+            fallbacks.increment();
+            return fallbackConverter.convertAll(amounts, toCurrency);
+        }
+    }
 
-            BigDecimal rate = response.getRates().get(toCurrency.name());
-            if (rate == null) {
-                throw new RuntimeException("Exchange rate not found for " + toCurrency);
-            }
+    /**
+     * Waits for the rate table without holding a thread; the same latency budget and fallback apply.
+     */
+    @Override
+    public CompletableFuture<BigDecimal> convertAsync(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+        if (fromCurrency == toCurrency) {
+            return CompletableFuture.completedFuture(amount);
+        }
 
-            BigDecimal convertedAmount = amount.multiply(rate);
-            return convertedAmount.setScale(2, RoundingMode.HALF_UP);
+        return rateCache.getRatesAsync(fromCurrency)
+                .thenApply(rates -> applyRate(rates, amount, toCurrency))
+                .exceptionally(error -> fallback(amount, fromCurrency, toCurrency,
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
 
-        } catch (WebClientResponseException e) {
-            throw new RuntimeException("API request failed with status: " + e.getStatusCode(), e);
-        } catch (Exception e) {
-            throw new RuntimeException("Unexpected error during API call", e);
+    /**
+     * Loads the target currency's table through the cache, which records a snapshot whenever it
+     * fetches one; a failed fetch leaves the previously recorded snapshot as the latest.
+     */
+    @Override
+    public CompletableFuture<Void> loadRates(Currency toCurrency) {
+        return rateCache.getRatesAsync(toCurrency)
+                .handle((rates, error) -> {
+                    if (error != null) {
+                        logger.warn("Could not load {} exchange rates: {}", toCurrency, error.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private static BigDecimal applyRate(Map<String, BigDecimal> rates, BigDecimal amount, Currency toCurrency) {
+        BigDecimal convertedAmount = amount.multiply(rate(rates, toCurrency));
+        return convertedAmount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal rate(Map<String, BigDecimal> rates, Currency currency) {
+        BigDecimal rate = rates.get(currency.name());
+        if (rate == null || rate.signum() == 0) {
+            throw new RuntimeException("Exchange rate not found for " + currency);
+        }
+        return rate;
+    }
+
+    private BigDecimal fallback(BigDecimal amount, Currency fromCurrency, Currency toCurrency, Throwable error) {
+        logger.warn("External API conversion failed for {} to {}: {}. Falling back to static rates.",
+                fromCurrency, toCurrency, error.getMessage());
+        fallbacks.increment();
+        return fallbackConverter.convert(amount, fromCurrency, toCurrency);
+    }
+
+    /**
+     * Requests the rate table of one base currency without blocking the caller.
+     * The call keeps running up to the timeout even if the caller stopped waiting,
+     * and its outcome and duration are reported to the circuit breaker.
+     */
+    private CompletableFuture<Map<String, BigDecimal>> fetchRates(Currency base) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Exchange rate API circuit is open"));
+        }
+
+        long start = System.nanoTime();
+        return webClient
+                .get()
+                .uri(base.name())
+                .retrieve()
+                .bodyToMono(ExchangeRateResponse.class)
+                .timeout(timeout)
+                .map(response -> {
+                    if (response.getRates() == null) {
+                        throw new IllegalStateException("Invalid response from exchange rate API");
+                    }
+                    return response.getRates();
+                })
+                // Recording the snapshot writes to the database, which must not block the HTTP client's threads
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(rates -> recordSnapshot(base, rates))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> new IllegalStateException("API request failed with status: " + e.getStatusCode(), e))
+                .toFuture()
+                .whenComplete((rates, error) ->
+                        circuitBreaker.onResult(Duration.ofNanos(System.nanoTime() - start), error != null || rates == null));
+    }
+
+    private void recordSnapshot(Currency base, Map<String, BigDecimal> rates) {
+        try {
+            rateSnapshots.record(base, rates, Instant.now());
+        } catch (RuntimeException e) {
+            // The rates are still good to use, they just cannot be reproduced later
+            logger.warn("Could not record {} exchange rate snapshot: {}", base, e.getMessage());
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.fundraising.service;
+
+/**
+ * Published when a fundraising event is created or its balance changes. Listeners that
+ * need the new state re-read the event, so it does not matter in which order they run.
+ */
+public record FundraisingEventChanged(Long eventId) {}
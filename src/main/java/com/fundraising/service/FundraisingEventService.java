@@ -2,13 +2,24 @@ package com.fundraising.service;
 
 import com.fundraising.dto.CreateEventRequest;
 import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.dto.FundraisingEventReport;
 import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.Currency;
 import com.fundraising.exception.DuplicateEventNameException;
 import com.fundraising.mapper.FundraisingEventMapper;
+import com.fundraising.repository.BoxCurrencyRepository;
 import com.fundraising.repository.FundraisingEventRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,6 +31,17 @@ public class FundraisingEventService {
     @Autowired
     private FundraisingEventMapper mapper;
 
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    @Qualifier("staticCurrencyConverter")
+    private CurrencyConverter currencyConverter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Timed(value = "events.operations", extraTags = {"operation", "create"})
     public FundraisingEventDTO createEvent(CreateEventRequest request) {
         if (fundraisingEventRepository.existsByNameIgnoreCase(request.getName())) {
             throw new DuplicateEventNameException(
@@ -28,16 +50,42 @@ public class FundraisingEventService {
 
         FundraisingEvent entity = mapper.toEntity(request);
         FundraisingEvent savedEntity = fundraisingEventRepository.save(entity);
+        eventPublisher.publishEvent(new FundraisingEventChanged(savedEntity.getId()));
         return mapper.toDto(savedEntity);
     }
 
+    @Timed(value = "events.operations", extraTags = {"operation", "list"})
     public List<FundraisingEventDTO> getAllEvents() {
         List<FundraisingEvent> entities = fundraisingEventRepository.findAll();
         return mapper.toDtoList(entities);
     }
 
+    @Timed(value = "events.operations", extraTags = {"operation", "get"})
     public Optional<FundraisingEventDTO> getEventById(Long id) {
         return fundraisingEventRepository.findById(id)
                 .map(mapper::toDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reports every event with the money still in its assigned boxes. Runs two queries however
+     * many boxes there are, and makes one bulk conversion per event.
+     */
+    @Timed(value = "events.operations", extraTags = {"operation", "report"})
+    public List<FundraisingEventReport> getFinancialReport() {
+        Map<Long, Map<Currency, BigDecimal>> pending = new HashMap<>();
+        for (Object[] row : boxCurrencyRepository.sumAssignedAmountsByEventAndCurrency()) {
+            pending.computeIfAbsent((Long) row[0], eventId -> new EnumMap<>(Currency.class))
+                    .put((Currency) row[1], (BigDecimal) row[2]);
+        }
+
+        return fundraisingEventRepository.findAll(Sort.by("id")).stream()
+                .map(event -> toReport(event, pending.getOrDefault(event.getId(), Map.of())))
+                .toList();
+    }
+
+    private FundraisingEventReport toReport(FundraisingEvent event, Map<Currency, BigDecimal> pendingByCurrency) {
+        BigDecimal pendingAmount = currencyConverter.convertAll(pendingByCurrency, event.getCurrency());
+        return new FundraisingEventReport(event.getId(), event.getName(), event.getCurrency(),
+                event.getBalance(), pendingByCurrency, pendingAmount);
+    }
+}
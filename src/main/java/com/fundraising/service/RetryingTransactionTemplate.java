@@ -0,0 +1,66 @@
+package com.fundraising.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again, in a fresh transaction,
+ * when it fails with a concurrency conflict (optimistic lock, lock timeout or deadlock).
+ * Attempts are bounded and separated by an exponential backoff with jitter, so that
+ * transactions colliding on the same row do not keep colliding in lockstep.
+ * <p>
+ * Must be called outside any transaction, otherwise a failed attempt would roll back the caller's work too.
+ */
+@Component
+public class RetryingTransactionTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingTransactionTemplate.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public RetryingTransactionTemplate(PlatformTransactionManager transactionManager,
+                                       @Value("${transactions.retry.max-attempts:5}") int maxAttempts,
+                                       @Value("${transactions.retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                       @Value("${transactions.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.debug("Transaction attempt {} of {} hit a conflict, retrying: {}", attempt, maxAttempts, e.getMessage());
+                sleep(ThreadLocalRandom.current().nextLong(backoffMs / 2, backoffMs + 1));
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry a transaction", e);
+        }
+    }
+}
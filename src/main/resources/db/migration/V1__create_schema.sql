@@ -0,0 +1,66 @@
+-- Schema as previously generated by Hibernate (ddl-auto=create-drop).
+-- Enum columns are VARCHAR with check constraints rather than H2's native ENUM, which the
+-- reactive profile's R2DBC driver cannot bind.
+
+CREATE TABLE fundraising_events (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255)   NOT NULL,
+    balance  NUMERIC(19, 2) NOT NULL,
+    currency VARCHAR(255)   NOT NULL CHECK (currency IN ('USD', 'EUR', 'GBP')),
+    version  BIGINT,
+    CONSTRAINT uk_fundraising_events_name UNIQUE (name)
+);
+
+CREATE TABLE boxes (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    box_identifier    VARCHAR(255) NOT NULL,
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('AVAILABLE', 'ASSIGNED')),
+    assigned_event_id BIGINT,
+    currency_count    INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_boxes_box_identifier UNIQUE (box_identifier),
+    CONSTRAINT fk_boxes_assigned_event FOREIGN KEY (assigned_event_id) REFERENCES fundraising_events (id)
+);
+
+CREATE TABLE box_currencies (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    box_id   BIGINT         NOT NULL,
+    currency VARCHAR(255)   NOT NULL CHECK (currency IN ('USD', 'EUR', 'GBP')),
+    amount   NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT uk_box_currencies_box_currency UNIQUE (box_id, currency),
+    CONSTRAINT fk_box_currencies_box FOREIGN KEY (box_id) REFERENCES boxes (id)
+);
+
+CREATE TABLE donation_journal_segments (
+    segment_name VARCHAR(255)                NOT NULL PRIMARY KEY,
+    applied_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE exchange_rate_snapshots (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    base_currency VARCHAR(255)                NOT NULL CHECK (base_currency IN ('USD', 'EUR', 'GBP')),
+    fetched_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_exchange_rate_snapshots_base_fetched ON exchange_rate_snapshots (base_currency, fetched_at);
+
+CREATE TABLE exchange_rate_snapshot_rates (
+    snapshot_id BIGINT         NOT NULL,
+    currency    VARCHAR(3)     NOT NULL,
+    rate        NUMERIC(19, 8) NOT NULL,
+    PRIMARY KEY (snapshot_id, currency),
+    CONSTRAINT fk_exchange_rate_snapshot_rates_snapshot FOREIGN KEY (snapshot_id) REFERENCES exchange_rate_snapshots (id)
+);
+
+CREATE TABLE box_transfers (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    box_id           BIGINT,
+    event_id         BIGINT                      NOT NULL,
+    amount           NUMERIC(19, 2)              NOT NULL,
+    currency         VARCHAR(255)                NOT NULL CHECK (currency IN ('USD', 'EUR', 'GBP')),
+    rate_snapshot_id BIGINT,
+    transferred_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Created before the foreign key, which then uses it instead of an index of its own
+CREATE INDEX idx_box_transfers_event ON box_transfers (event_id);
+ALTER TABLE box_transfers ADD CONSTRAINT fk_box_transfers_event FOREIGN KEY (event_id) REFERENCES fundraising_events (id);
@@ -0,0 +1,6 @@
+-- Lookups by box and by (box, currency) use uk_box_currencies_box_currency.
+-- Sums and emptiness checks over a box's amounts are answered from this index alone.
+CREATE INDEX idx_box_currencies_box_amount ON box_currencies (box_id, amount);
+
+-- Boxes assigned to an event, e.g. when all of them are emptied at once
+CREATE INDEX idx_boxes_assigned_event_status ON boxes (assigned_event_id, status);
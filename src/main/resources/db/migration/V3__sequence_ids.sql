@@ -0,0 +1,23 @@
+-- Boxes, their currency rows and events take their ids from sequences instead of identity columns,
+-- so Hibernate can allocate ids ahead of the insert and send new rows in JDBC batches.
+-- Hibernate's pooled optimizer treats each sequence value as the top of a block of
+-- ${id-allocation-size} ids, so the sequences start one block above the ids already in use.
+-- The column defaults keep inserts without an id (R2DBC, plain JDBC) working; they use up a whole block each.
+
+CREATE SEQUENCE fundraising_events_seq
+    START WITH (SELECT COALESCE(MAX(id), 0) + ${id-allocation-size} FROM fundraising_events)
+    INCREMENT BY ${id-allocation-size};
+ALTER TABLE fundraising_events ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE fundraising_events ALTER COLUMN id SET DEFAULT NEXT VALUE FOR fundraising_events_seq;
+
+CREATE SEQUENCE boxes_seq
+    START WITH (SELECT COALESCE(MAX(id), 0) + ${id-allocation-size} FROM boxes)
+    INCREMENT BY ${id-allocation-size};
+ALTER TABLE boxes ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE boxes ALTER COLUMN id SET DEFAULT NEXT VALUE FOR boxes_seq;
+
+CREATE SEQUENCE box_currencies_seq
+    START WITH (SELECT COALESCE(MAX(id), 0) + ${id-allocation-size} FROM box_currencies)
+    INCREMENT BY ${id-allocation-size};
+ALTER TABLE box_currencies ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE box_currencies ALTER COLUMN id SET DEFAULT NEXT VALUE FOR box_currencies_seq;
@@ -0,0 +1,69 @@
+package com.fundraising;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.enums.Currency;
+import com.fundraising.service.BoxService;
+import com.fundraising.service.FundraisingEventService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Restarts the application on the {@code prod} profile against the same database file.
+ */
+class PersistentStorageRestartTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void shouldKeepBoxesAndMoneyAcrossRestart() {
+        // Given
+        Long boxId;
+        Long eventId;
+        try (ConfigurableApplicationContext context = start()) {
+            BoxService boxService = context.getBean(BoxService.class);
+            FundraisingEventDTO event = context.getBean(FundraisingEventService.class)
+                    .createEvent(new CreateEventRequest("Restart Run", Currency.EUR));
+            BoxDto box = boxService.registerBox(new CreateBoxRequest("RESTART-001"));
+            boxService.assignBoxToEvent(box.getId(), event.getId());
+            boxService.addMoneyToBox(box.getId(), new AddMoneyRequest(Currency.EUR, new BigDecimal("25.00")));
+            boxId = box.getId();
+            eventId = event.getId();
+        }
+
+        // When
+        try (ConfigurableApplicationContext context = start()) {
+            BoxService boxService = context.getBean(BoxService.class);
+
+            // Then
+            BoxDto box = boxService.getAllBoxes().stream()
+                    .filter(candidate -> candidate.getId().equals(boxId))
+                    .findFirst().orElseThrow();
+            assertTrue(box.isAssigned());
+            assertFalse(box.isEmpty());
+            boxService.emptyBox(boxId);
+            assertEquals(new BigDecimal("25.00"),
+                    context.getBean(FundraisingEventService.class).getEventById(eventId).orElseThrow().getBalance());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FundraisingBoxesAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .properties("storage.data-dir=" + dataDir)
+                .run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.fundraising.benchmark;
+
+import com.fundraising.FundraisingBoxesAppApplication;
+import com.fundraising.dto.BoxPage;
+import com.fundraising.enums.Currency;
+import com.fundraising.service.BoxService;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a restart of the application on the {@code prod} profile against a file-backed H2
+ * database holding {@code boxCount} boxes: from starting the Spring context, Flyway and Hibernate
+ * validation included, to the first page of boxes being served.
+ * <p>
+ * The database is seeded once under {@code target/startup-benchmark} and reused by later forks and
+ * runs. Every fork is a fresh JVM, so each measurement is a cold start of the application on a
+ * database file that is already there.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.include=ApplicationStartupBenchmark -Djmh.args="-p boxCount=1000000"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ApplicationStartupBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    @Param({"100000", "1000000"})
+    public int boxCount;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Seeds through Flyway and plain JDBC rather than the application, so that the measured
+     * start is the first one in its JVM.
+     */
+    @Setup(Level.Trial)
+    public void prepareDatabase() {
+        dataDir = Path.of("target", "startup-benchmark", String.valueOf(boxCount)).toAbsolutePath();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:" + dataDir.resolve("fundraising"), "sa", "");
+        Flyway.configure().dataSource(dataSource)
+                .placeholders(Map.of("id-allocation-size", String.valueOf(ID_ALLOCATION_SIZE)))
+                .load().migrate();
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM boxes", Integer.class);
+        if (existing < boxCount) {
+            seed(jdbc, boxCount - existing);
+        }
+        jdbc.execute("SHUTDOWN COMPACT");
+    }
+
+    @Benchmark
+    public BoxPage restart() {
+        context = start();
+        return context.getBean(BoxService.class).getBoxPage(null, 100);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FundraisingBoxesAppApplication.class)
+                .profiles("prod")
+                // Command-line arguments: properties() would only set defaults, which application.properties overrides
+                .run("--storage.data-dir=" + dataDir,
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+    }
+
+    private void seed(JdbcTemplate jdbc, int boxes) {
+        long[] eventIds = new long[CURRENCIES.length];
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            String name = "Startup " + CURRENCIES[i];
+            if (jdbc.queryForObject("SELECT COUNT(*) FROM fundraising_events WHERE name = ?", Integer.class, name) == 0) {
+                jdbc.update("INSERT INTO fundraising_events (name, balance, currency, version) VALUES (?, 0, ?, 0)",
+                        name, CURRENCIES[i].name());
+            }
+            eventIds[i] = jdbc.queryForObject("SELECT id FROM fundraising_events WHERE name = ?", Long.class, name);
+        }
+
+        // Three in four boxes are assigned and hold money in one to three currencies
+        SplittableRandom random = new SplittableRandom(42);
+        long offset = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM boxes", Long.class);
+        List<Object[]> boxRows = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> contents = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < boxes; i++) {
+            boolean assigned = i % 4 != 0;
+            int currencies = assigned ? 1 + random.nextInt(CURRENCIES.length) : 0;
+            long boxId = offset + i + 1;
+            boxRows.add(new Object[]{boxId, "STARTUP-" + boxId, assigned ? "ASSIGNED" : "AVAILABLE",
+                    assigned ? eventIds[i % eventIds.length] : null, currencies});
+            for (int c = 0; c < currencies; c++) {
+                contents.add(new Object[]{boxId, CURRENCIES[c].name(), BigDecimal.valueOf(random.nextLong(100, 100_000), 2)});
+            }
+            if (boxRows.size() == SEED_BATCH_SIZE || i == boxes - 1) {
+                jdbc.batchUpdate("INSERT INTO boxes (id, box_identifier, status, assigned_event_id, currency_count) " +
+                        "VALUES (?, ?, ?, ?, ?)", boxRows);
+                jdbc.batchUpdate("INSERT INTO box_currencies (box_id, currency, amount) VALUES (?, ?, ?)", contents);
+                boxRows.clear();
+                contents.clear();
+            }
+        }
+        // Explicit IDs were inserted, so the sequence's next block has to start after them
+        jdbc.execute("ALTER SEQUENCE boxes_seq RESTART WITH " + (offset + boxes + ID_ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,215 @@
+package com.fundraising.benchmark;
+
+import com.fundraising.FundraisingBoxesAppApplication;
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.FundraisingEventReport;
+import com.fundraising.enums.Currency;
+import com.fundraising.service.BoxService;
+import com.fundraising.service.FundraisingEventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the BoxService hot paths and the event financial report against an embedded
+ * H2 database seeded with {@code boxCount} boxes: 10% available and empty, the rest assigned
+ * to one of three events and holding money in one to three currencies.
+ * <p>
+ * Every benchmark reports throughput and the sampled latency distribution (p99 included).
+ * Each thread works on its own slice of boxes, so {@code -t} can be raised without
+ * two threads emptying or assigning the same box.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.include=BoxServiceBenchmark -Djmh.args="-f 1 -p boxCount=100000 -t 4"
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class BoxServiceBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    @Param({"10000", "100000", "1000000"})
+    public int boxCount;
+
+    private ConfigurableApplicationContext context;
+    private BoxService boxService;
+    private FundraisingEventService fundraisingEventService;
+    private long firstBoxId;
+    private int availableBoxes;
+    private long[] eventIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Command-line arguments: properties() would only set defaults, which application.properties overrides
+        context = new SpringApplicationBuilder(FundraisingBoxesAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;LAZY_QUERY_EXECUTION=1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN");
+        boxService = context.getBean(BoxService.class);
+        fundraisingEventService = context.getBean(FundraisingEventService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        eventIds = new long[CURRENCIES.length];
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            jdbc.update("INSERT INTO fundraising_events (name, balance, currency, version) VALUES (?, 0, ?, 0)",
+                    "Benchmark " + CURRENCIES[i], CURRENCIES[i].name());
+            eventIds[i] = jdbc.queryForObject("SELECT id FROM fundraising_events WHERE name = ?", Long.class,
+                    "Benchmark " + CURRENCIES[i]);
+        }
+
+        // Explicit, contiguous IDs: boxes_seq hands out blocks, so generated IDs would leave gaps
+        availableBoxes = boxCount / 10;
+        firstBoxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM boxes", Long.class) + 1;
+        List<Object[]> boxes = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < boxCount; i++) {
+            boolean assigned = i >= availableBoxes;
+            boxes.add(new Object[]{firstBoxId + i, "BENCH-" + i, assigned ? "ASSIGNED" : "AVAILABLE",
+                    assigned ? eventIds[i % eventIds.length] : null});
+            if (boxes.size() == SEED_BATCH_SIZE || i == boxCount - 1) {
+                jdbc.batchUpdate("INSERT INTO boxes (id, box_identifier, status, assigned_event_id) VALUES (?, ?, ?, ?)", boxes);
+                boxes.clear();
+            }
+        }
+        // The sequence's next block has to start after the explicit IDs
+        jdbc.execute("ALTER SEQUENCE boxes_seq RESTART WITH " + (firstBoxId + boxCount + ID_ALLOCATION_SIZE));
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> contents = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = availableBoxes; i < boxCount; i++) {
+            int currencies = 1 + random.nextInt(CURRENCIES.length);
+            for (int c = 0; c < currencies; c++) {
+                contents.add(new Object[]{firstBoxId + i, CURRENCIES[c].name(),
+                        BigDecimal.valueOf(random.nextLong(100, 100_000), 2)});
+            }
+            if (contents.size() >= SEED_BATCH_SIZE || i == boxCount - 1) {
+                jdbc.batchUpdate("INSERT INTO box_currencies (box_id, currency, amount) VALUES (?, ?, ?)", contents);
+                contents.clear();
+            }
+        }
+        jdbc.update("UPDATE boxes SET currency_count = " +
+                "(SELECT COUNT(*) FROM box_currencies bc WHERE bc.box_id = boxes.id)");
+    }
+
+    /**
+     * Hands each benchmark thread random boxes from its own slice of the assigned or available boxes.
+     */
+    @State(Scope.Thread)
+    public static class BoxPicker {
+        private SplittableRandom random;
+        private int threads;
+        private int threadIndex;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams benchmarkParams, ThreadParams threadParams) {
+            random = new SplittableRandom(threadParams.getThreadIndex());
+            threads = benchmarkParams.getThreads();
+            threadIndex = threadParams.getThreadIndex();
+        }
+
+        long assignedBox(BoxServiceBenchmark benchmark) {
+            return pick(benchmark, benchmark.availableBoxes, benchmark.boxCount);
+        }
+
+        long availableBox(BoxServiceBenchmark benchmark) {
+            return pick(benchmark, 0, benchmark.availableBoxes);
+        }
+
+        private long pick(BoxServiceBenchmark benchmark, int from, int to) {
+            int slots = (to - from) / threads;
+            return benchmark.firstBoxId + from + (long) random.nextInt(slots) * threads + threadIndex;
+        }
+
+        Currency currency() {
+            return CURRENCIES[random.nextInt(CURRENCIES.length)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BoxToEmpty {
+        long boxId;
+
+        @Setup(Level.Invocation)
+        public void fill(BoxServiceBenchmark benchmark, BoxPicker picker) {
+            boxId = picker.assignedBox(benchmark);
+            benchmark.boxService.addMoneyToBox(boxId, new AddMoneyRequest(picker.currency(), new BigDecimal("10.00")));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BoxToAssign {
+        long boxId;
+
+        @Setup(Level.Invocation)
+        public void pick(BoxServiceBenchmark benchmark, BoxPicker picker) {
+            boxId = picker.availableBox(benchmark);
+        }
+
+        @TearDown(Level.Invocation)
+        public void unassign(BoxServiceBenchmark benchmark) {
+            benchmark.boxService.unassignBoxFromEvent(boxId);
+        }
+    }
+
+    @Benchmark
+    public BoxDto addMoneyToBox(BoxPicker picker) {
+        return boxService.addMoneyToBox(picker.assignedBox(this), new AddMoneyRequest(picker.currency(), new BigDecimal("1.00")));
+    }
+
+    @Benchmark
+    public BoxDto emptyBox(BoxToEmpty box) {
+        return boxService.emptyBox(box.boxId);
+    }
+
+    @Benchmark
+    public List<BoxDto> getAllBoxes() {
+        return boxService.getAllBoxes();
+    }
+
+    @Benchmark
+    public BoxDto assignBoxToEvent(BoxToAssign box) {
+        return boxService.assignBoxToEvent(box.boxId, eventIds[(int) (box.boxId % eventIds.length)]);
+    }
+
+    @Benchmark
+    public List<FundraisingEventReport> getFinancialReport() {
+        return fundraisingEventService.getFinancialReport();
+    }
+}
@@ -0,0 +1,127 @@
+package com.fundraising.benchmark;
+
+import com.fundraising.enums.Currency;
+import com.fundraising.service.CurrencyConversionService;
+import com.fundraising.service.CurrencyConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ordinal-indexed rate matrix of {@link CurrencyConversionService} with the
+ * previous String-keyed map lookup, on one thread and with all cores converting at once.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=CurrencyConversion -Djmh.args="-f 1 -prof gc"}
+ * to also see the allocation rate per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyConversionBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final CurrencyConverter matrixConverter = new CurrencyConversionService();
+    private final CurrencyConverter stringKeyConverter = new StringKeyConverter();
+
+    private BigDecimal[] amounts;
+    private Currency[] from;
+    private Currency[] to;
+
+    @Setup
+    public void setUp() {
+        Currency[] currencies = Currency.values();
+        amounts = new BigDecimal[INPUTS];
+        from = new Currency[INPUTS];
+        to = new Currency[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            amounts[i] = BigDecimal.valueOf(100 + i * 37L, 2);
+            from[i] = currencies[i % currencies.length];
+            // Never the same currency, which would skip the lookup
+            to[i] = currencies[(i + 1 + i / currencies.length % (currencies.length - 1)) % currencies.length];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (INPUTS - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal matrix(Cursor cursor) {
+        int i = cursor.advance();
+        return matrixConverter.convert(amounts[i], from[i], to[i]);
+    }
+
+    @Benchmark
+    public BigDecimal stringKey(Cursor cursor) {
+        int i = cursor.advance();
+        return stringKeyConverter.convert(amounts[i], from[i], to[i]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public BigDecimal matrixAllThreads(Cursor cursor) {
+        int i = cursor.advance();
+        return matrixConverter.convert(amounts[i], from[i], to[i]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public BigDecimal stringKeyAllThreads(Cursor cursor) {
+        int i = cursor.advance();
+        return stringKeyConverter.convert(amounts[i], from[i], to[i]);
+    }
+
+    /**
+     * The lookup CurrencyConversionService used before the rate matrix, kept as the baseline.
+     */
+    static class StringKeyConverter implements CurrencyConverter {
+
+        private static final Map<String, BigDecimal> EXCHANGE_RATES = Map.of(
+                "USD_EUR", new BigDecimal("0.85"),
+                "USD_GBP", new BigDecimal("0.75"),
+                "EUR_USD", new BigDecimal("1.18"),
+                "EUR_GBP", new BigDecimal("0.88"),
+                "GBP_USD", new BigDecimal("1.33"),
+                "GBP_EUR", new BigDecimal("1.13")
+        );
+
+        @Override
+        public BigDecimal convert(BigDecimal amount, Currency fromCurrency, Currency toCurrency) {
+            if (fromCurrency == toCurrency) {
+                return amount;
+            }
+
+            String rateKey = fromCurrency.name() + "_" + toCurrency.name();
+            BigDecimal rate = EXCHANGE_RATES.get(rateKey);
+
+            if (rate == null) {
+                throw new IllegalArgumentException("Exchange rate not found for " + fromCurrency + " to " + toCurrency);
+            }
+
+            BigDecimal convertedAmount = amount.multiply(rate);
+            return convertedAmount.setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
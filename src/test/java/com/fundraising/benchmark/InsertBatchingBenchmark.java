@@ -0,0 +1,154 @@
+package com.fundraising.benchmark;
+
+import com.fundraising.FundraisingBoxesAppApplication;
+import com.fundraising.dto.BulkBoxResponse;
+import com.fundraising.dto.BulkDonationResponse;
+import com.fundraising.dto.BulkDonationRow;
+import com.fundraising.entity.Box;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxRepository;
+import com.fundraising.service.BulkBoxService;
+import com.fundraising.service.BulkDonationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JPA insert throughput in rows per second for the two bulk write paths:
+ * a bulk box registration through {@link BulkBoxService}, and a bulk donation upload that
+ * creates one box_currencies row per box. Each invocation writes {@value #ROWS} rows;
+ * {@link #addLargeBulkDonations} times single uploads of {@value #LARGE_UPLOAD_ROWS} rows.
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.include=InsertBatchingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class InsertBatchingBenchmark {
+
+    static final int ROWS = 1000;
+    static final int LARGE_UPLOAD_ROWS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private BoxRepository boxRepository;
+    private BulkBoxService bulkBoxService;
+    private BulkDonationService bulkDonationService;
+    private TransactionTemplate transactions;
+    private JdbcTemplate jdbc;
+    private long eventId;
+    private long nextBox;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(FundraisingBoxesAppApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments: properties() would only set defaults, which application.properties overrides
+                .run("--spring.datasource.url=jdbc:h2:mem:inserts",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN");
+        boxRepository = context.getBean(BoxRepository.class);
+        bulkBoxService = context.getBean(BulkBoxService.class);
+        bulkDonationService = context.getBean(BulkDonationService.class);
+        transactions = context.getBean(TransactionTemplate.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO fundraising_events (name, balance, currency, version) VALUES ('Inserts', 0, 'USD', 0)");
+        eventId = jdbc.queryForObject("SELECT id FROM fundraising_events WHERE name = 'Inserts'", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * A bulk upload's boxes: assigned and still empty, so every row becomes an insert.
+     */
+    @State(Scope.Thread)
+    public static class Upload {
+        List<BulkDonationRow> rows;
+
+        @Setup(Level.Invocation)
+        public void registerBoxes(InsertBatchingBenchmark benchmark) {
+            rows = benchmark.assignedBoxUpload(ROWS);
+        }
+    }
+
+    /**
+     * The same for a {@value #LARGE_UPLOAD_ROWS}-row upload, prepared once per single-shot iteration.
+     */
+    @State(Scope.Thread)
+    public static class LargeUpload {
+        List<BulkDonationRow> rows;
+
+        @Setup(Level.Iteration)
+        public void registerBoxes(InsertBatchingBenchmark benchmark) {
+            rows = benchmark.assignedBoxUpload(LARGE_UPLOAD_ROWS);
+        }
+    }
+
+    private List<BulkDonationRow> assignedBoxUpload(int size) {
+        List<BulkDonationRow> rows = new ArrayList<>(size);
+        List<Box> boxes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String identifier = "UPLOAD-" + nextBox++;
+            boxes.add(new Box(identifier));
+            rows.add(new BulkDonationRow(identifier, Currency.EUR, new BigDecimal("12.50")));
+        }
+        transactions.executeWithoutResult(status -> boxRepository.saveAll(boxes));
+        jdbc.update("UPDATE boxes SET status = 'ASSIGNED', assigned_event_id = ? WHERE status = 'AVAILABLE'", eventId);
+        return rows;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkBoxResponse registerBoxes() {
+        List<String> boxIdentifiers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            boxIdentifiers.add("BOX-" + nextBox++);
+        }
+        return bulkBoxService.registerBoxes(boxIdentifiers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkDonationResponse addBulkDonations(Upload upload) {
+        return bulkDonationService.addDonations(upload.rows);
+    }
+
+    /**
+     * Time for one whole {@value #LARGE_UPLOAD_ROWS}-row upload, lookups and inserts included.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public BulkDonationResponse addLargeBulkDonations(LargeUpload upload) {
+        return bulkDonationService.addDonations(upload.rows);
+    }
+}
@@ -3,22 +3,33 @@ package com.fundraising.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fundraising.dto.AddMoneyRequest;
 import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.BoxPage;
+import com.fundraising.dto.BulkBoxResponse;
+import com.fundraising.dto.BulkBoxResult;
+import com.fundraising.dto.BulkDonationResponse;
+import com.fundraising.dto.BulkDonationResult;
 import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.enums.BulkRowStatus;
 import com.fundraising.enums.Currency;
 import com.fundraising.exception.BoxNotFoundException;
 import com.fundraising.exception.DuplicateBoxIdentifierException;
 import com.fundraising.service.BoxService;
+import com.fundraising.service.BulkBoxService;
+import com.fundraising.service.BulkDonationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -34,6 +45,12 @@ class BoxControllerTest {
     @MockBean
     private BoxService boxService;
 
+    @MockBean
+    private BulkBoxService bulkBoxService;
+
+    @MockBean
+    private BulkDonationService bulkDonationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -138,6 +155,51 @@ class BoxControllerTest {
         verify(boxService).getAllBoxes();
     }
 
+    @Test
+    void shouldGetBoxPageSuccessfully() throws Exception {
+        // Given
+        BoxPage page = new BoxPage(List.of(new BoxDto(6L, "BOX-006", false, true)), 6L);
+
+        when(boxService.getBoxPage(5L, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/boxes/page").param("after", "5").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boxes.length()").value(1))
+                .andExpect(jsonPath("$.boxes[0].boxIdentifier").value("BOX-006"))
+                .andExpect(jsonPath("$.nextCursor").value(6));
+
+        verify(boxService).getBoxPage(5L, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamBoxesAsNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<BoxDto> consumer = invocation.getArgument(0);
+            consumer.accept(new BoxDto(1L, "BOX-001", false, true));
+            consumer.accept(new BoxDto(2L, "BOX-002", true, false));
+            return null;
+        }).when(boxService).streamAllBoxes(any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/boxes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(
+                "BOX-002", objectMapper.readValue(lines[1], BoxDto.class).getBoxIdentifier());
+    }
+
     @Test
     void shouldAssignBoxToEventSuccessfully() throws Exception {
         // Given
@@ -209,6 +271,50 @@ class BoxControllerTest {
         verify(boxService).addMoneyToBox(eq(boxId), any(AddMoneyRequest.class));
     }
 
+    @Test
+    void shouldAddMoneyInBulkFromCsv() throws Exception {
+        // Given
+        String csv = "boxIdentifier,currency,amount\nBOX-001,USD,50.00\nBOX-404,EUR,1.00\n";
+        BulkDonationResponse response = new BulkDonationResponse(1, 1, List.of(
+                new BulkDonationResult(1, "BOX-001", BulkRowStatus.APPLIED, null),
+                new BulkDonationResult(2, "BOX-404", BulkRowStatus.REJECTED, "Box 'BOX-404' not found")));
+
+        when(bulkDonationService.addDonationsFromCsv(csv)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/boxes/money/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+
+        verify(bulkDonationService).addDonationsFromCsv(csv);
+    }
+
+    @Test
+    void shouldRegisterBoxesInBulk() throws Exception {
+        // Given
+        List<String> identifiers = List.of("BOX-001", "BOX-002");
+        BulkBoxResponse response = new BulkBoxResponse(1, 1, List.of(
+                new BulkBoxResult(1, "BOX-001", 7L, BulkRowStatus.APPLIED, null),
+                new BulkBoxResult(2, "BOX-002", 3L, BulkRowStatus.REJECTED, "Box with identifier 'BOX-002' already exists")));
+
+        when(bulkBoxService.registerBoxes(identifiers)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/boxes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(identifiers)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].boxId").value(7))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+
+        verify(bulkBoxService).registerBoxes(identifiers);
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidMoneyAmount() throws Exception {
         // Given
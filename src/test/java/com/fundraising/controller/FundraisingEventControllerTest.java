@@ -2,23 +2,37 @@ package com.fundraising.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.EmptyBoxesResult;
 import com.fundraising.dto.FundraisingEventDTO;
 import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.dto.FundraisingEventReport;
 import com.fundraising.enums.Currency;
 import com.fundraising.exception.DuplicateEventNameException;
+import com.fundraising.exception.EventNotFoundException;
+import com.fundraising.service.BoxService;
+import com.fundraising.service.EventBalanceStream;
+import com.fundraising.service.EventLeaderboard;
 import com.fundraising.service.FundraisingEventService;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 
+import reactor.core.publisher.Flux;
+
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +47,15 @@ class FundraisingEventControllerTest {
     @MockBean
     private FundraisingEventService fundraisingEventService;
 
+    @MockBean
+    private BoxService boxService;
+
+    @MockBean
+    private EventLeaderboard eventLeaderboard;
+
+    @MockBean
+    private EventBalanceStream eventBalanceStream;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -96,11 +119,12 @@ class FundraisingEventControllerTest {
                 new FundraisingEventDTO(2L, "Bake Sale", new BigDecimal("150.50"), Currency.EUR)
         );
 
-        when(fundraisingEventService.getAllEvents()).thenReturn(events);
+        when(eventLeaderboard.snapshot()).thenReturn(new EventLeaderboard.Snapshot("1", events, events));
 
         // When & Then
         mockMvc.perform(get("/api/events"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].name").value("Charity Run"))
@@ -108,7 +132,8 @@ class FundraisingEventControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Bake Sale"))
                 .andExpect(jsonPath("$[1].balance").value(150.50));
 
-        verify(fundraisingEventService).getAllEvents();
+        verify(eventLeaderboard).snapshot();
+        verify(fundraisingEventService, never()).getAllEvents();
     }
 
     @Test
@@ -146,15 +171,13 @@ class FundraisingEventControllerTest {
     @Test
     void shouldReturnEmptyListWhenNoEventsExist() throws Exception {
         // Given
-        when(fundraisingEventService.getAllEvents()).thenReturn(Arrays.asList());
+        when(eventLeaderboard.snapshot()).thenReturn(new EventLeaderboard.Snapshot("1", List.of(), List.of()));
 
         // When & Then
         mockMvc.perform(get("/api/events"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
-
-        verify(fundraisingEventService).getAllEvents();
     }
 
     @Test
@@ -193,4 +216,139 @@ class FundraisingEventControllerTest {
 
         verify(fundraisingEventService).createEvent(any(CreateEventRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldEmptyAllBoxesOfEvent() throws Exception {
+        // Given
+        EmptyBoxesResult result = new EmptyBoxesResult(1L, 3, new BigDecimal("42.00"), new BigDecimal("142.00"), Currency.EUR);
+
+        when(boxService.emptyAllBoxes(1L)).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/events/{id}/empty-boxes", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boxesEmptied").value(3))
+                .andExpect(jsonPath("$.balance").value(142.00));
+
+        verify(boxService).emptyAllBoxes(1L);
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenEmptyingBoxesOfUnknownEvent() throws Exception {
+        // Given
+        when(boxService.emptyAllBoxes(99L))
+                .thenThrow(new EventNotFoundException("Fundraising event with ID 99 not found"));
+
+        // When & Then
+        mockMvc.perform(post("/api/events/{id}/empty-boxes", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Fundraising event with ID 99 not found"));
+    }
+
+    @Test
+    void shouldNotReportOtherIllegalArgumentsAsNotFound() {
+        // Given
+        when(boxService.emptyAllBoxes(1L))
+                .thenThrow(new IllegalArgumentException("Exchange rate not found for EUR to USD"));
+
+        // When & Then - left to the default error handling instead of being answered with 404
+        assertThrows(ServletException.class, () -> mockMvc.perform(post("/api/events/{id}/empty-boxes", 1L)));
+    }
+
+    @Test
+    void shouldReturnFinancialReport() throws Exception {
+        // Given
+        FundraisingEventReport report = new FundraisingEventReport(1L, "Charity Run", Currency.USD,
+                new BigDecimal("100.00"), Map.of(Currency.EUR, new BigDecimal("10.00")), new BigDecimal("11.80"));
+
+        when(fundraisingEventService.getFinancialReport()).thenReturn(List.of(report));
+
+        // When & Then
+        mockMvc.perform(get("/api/events/report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].balance").value(100.00))
+                .andExpect(jsonPath("$[0].pendingByCurrency.EUR").value(10.00))
+                .andExpect(jsonPath("$[0].pendingAmount").value(11.80))
+                .andExpect(jsonPath("$[0].totalAmount").value(111.80));
+
+        verify(fundraisingEventService).getFinancialReport();
+        verify(fundraisingEventService, never()).getEventById(any());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenEventsAreUnchanged() throws Exception {
+        // Given
+        List<FundraisingEventDTO> events = List.of(
+                new FundraisingEventDTO(1L, "Charity Run", new BigDecimal("500.00"), Currency.USD));
+        when(eventLeaderboard.snapshot()).thenReturn(new EventLeaderboard.Snapshot("7", events, events));
+
+        // When & Then
+        mockMvc.perform(get("/api/events").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/events").header("If-None-Match", "\"6\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Charity Run"));
+    }
+
+    @Test
+    void shouldReturnTopEventsOfLeaderboard() throws Exception {
+        // Given
+        FundraisingEventDTO run = new FundraisingEventDTO(1L, "Charity Run", new BigDecimal("500.00"), Currency.USD);
+        FundraisingEventDTO gala = new FundraisingEventDTO(2L, "Gala", new BigDecimal("900.00"), Currency.EUR);
+        FundraisingEventDTO sale = new FundraisingEventDTO(3L, "Bake Sale", new BigDecimal("10.00"), Currency.GBP);
+        when(eventLeaderboard.snapshot()).thenReturn(
+                new EventLeaderboard.Snapshot("3", List.of(run, gala, sale), List.of(gala, run, sale)));
+
+        // When & Then
+        mockMvc.perform(get("/api/events/leaderboard").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Gala"))
+                .andExpect(jsonPath("$[1].name").value("Charity Run"));
+    }
+
+    @Test
+    void shouldRejectLeaderboardLimitOutOfRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/events/leaderboard").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 100"));
+        mockMvc.perform(get("/api/events/leaderboard").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(eventLeaderboard, never()).snapshot();
+    }
+
+    @Test
+    void shouldStreamEventBalanceAsServerSentEvents() throws Exception {
+        // Given
+        FundraisingEventDTO event = new FundraisingEventDTO(1L, "Charity Run", new BigDecimal("500.00"), Currency.USD);
+        when(eventBalanceStream.subscribe(1L))
+                .thenReturn(Optional.of(Flux.just(ServerSentEvent.builder(event).event("balance").build())));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/events/{id}/stream", 1L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:balance")))
+                .andExpect(content().string(containsString("\"balance\":500.00")));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenStreamingUnknownEvent() throws Exception {
+        // Given
+        when(eventBalanceStream.subscribe(404L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/events/{id}/stream", 404L).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,235 @@
+package com.fundraising.load;
+
+import com.fundraising.enums.Currency;
+import com.fundraising.service.ExchangeRateSnapshots;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.WebFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires a burst of concurrent requests at the application's own endpoints: boxes are emptied,
+ * donated to and the event list is read, all at once. Box transfers convert with the external
+ * rate API, which stopped answering after a dollar table was recorded: every emptying waits for
+ * the latency budget to load a current table, then converts with the recorded one. A blocking stack holds a server thread for each waiting request,
+ * a non-blocking one holds none. The peak number of requests being served at once shows how many
+ * waiting requests each stack can hold.
+ * <p>
+ * Tagged {@code load} and only run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "currency.transfers.converter=externalApiCurrencyConverter",
+                "currency.external-api.timeout=60s",
+                "currency.external-api.latency-budget=500ms"
+        })
+@Import(ConversionLoadTest.InFlightRequests.class)
+abstract class ConversionLoadTest {
+
+    static final int PLATFORM_POOL_SIZE = 200;
+    // Of every five requests, three empty a box, one donates and one lists the events
+    static final int REQUESTS = 1000;
+    private static final int EMPTY_REQUESTS = REQUESTS * 3 / 5;
+    private static final int DONATION_REQUESTS = REQUESTS / 5;
+
+    private static final Duration UPSTREAM_DELAY = Duration.ofSeconds(30);
+    // Shared by every load test class in the JVM, so it is never stopped
+    private static final HttpServer upstream = startSlowUpstream();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightRequests inFlightRequests;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ExchangeRateSnapshots rateSnapshots;
+
+    private long eventId;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("currency.external-api.base-url",
+                () -> "http://127.0.0.1:" + upstream.getAddress().getPort() + "/latest/");
+    }
+
+    /**
+     * @return The highest number of API requests that were in progress at the same time
+     */
+    int runBurst() {
+        List<Long> boxIds = seedBoxes();
+        List<HttpRequest> requests = new ArrayList<>(REQUESTS);
+        int emptied = 0;
+        int donated = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(switch (i % 5) {
+                case 0 -> post("/api/boxes/" + boxIds.get(EMPTY_REQUESTS + donated++) + "/money",
+                        "{\"currency\":\"GBP\",\"amount\":5.00}");
+                case 1 -> HttpRequest.newBuilder(uri("/api/events")).timeout(Duration.ofMinutes(2)).build();
+                default -> post("/api/boxes/" + boxIds.get(emptied++) + "/empty", "");
+            });
+        }
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(REQUESTS);
+            for (HttpRequest request : requests) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                HttpResponse<String> completed = response.join();
+                assertEquals(200, completed.statusCode(), completed.request().uri() + ": " + completed.body());
+            }
+        }
+
+        // 10 EUR per emptied box at the recorded 0.8 euros to the dollar
+        BigDecimal balance = jdbc.queryForObject("SELECT balance FROM fundraising_events WHERE id = ?", BigDecimal.class, eventId);
+        assertEquals(0, new BigDecimal("12.50").multiply(BigDecimal.valueOf(EMPTY_REQUESTS)).compareTo(balance),
+                "Balance was " + balance);
+        return inFlightRequests.peak.get();
+    }
+
+    /**
+     * @return Number of distinct server threads that started handling an API request
+     */
+    int serverThreads() {
+        return inFlightRequests.serverThreads.size();
+    }
+
+    /**
+     * Records a day-old dollar table, too old to be served while the API is down, and creates a
+     * dollar event with the boxes to empty, each holding 10 EUR, followed by the empty boxes to
+     * donate to.
+     * @return IDs of the boxes in that order
+     */
+    private List<Long> seedBoxes() {
+        rateSnapshots.record(Currency.USD, Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"),
+                "GBP", new BigDecimal("0.5")), Instant.now().minus(Duration.ofDays(1)));
+
+        String name = "Load " + System.nanoTime();
+        jdbc.update("INSERT INTO fundraising_events (name, balance, currency, version) VALUES (?, 0, 'USD', 0)", name);
+        eventId = jdbc.queryForObject("SELECT id FROM fundraising_events WHERE name = ?", Long.class, name);
+
+        List<Object[]> boxes = new ArrayList<>(EMPTY_REQUESTS + DONATION_REQUESTS);
+        for (int i = 0; i < EMPTY_REQUESTS + DONATION_REQUESTS; i++) {
+            boxes.add(new Object[]{String.format("%s-%04d", name, i), eventId});
+        }
+        jdbc.batchUpdate("INSERT INTO boxes (box_identifier, status, assigned_event_id) VALUES (?, 'ASSIGNED', ?)", boxes);
+        List<Long> boxIds = jdbc.queryForList("SELECT id FROM boxes WHERE assigned_event_id = ? ORDER BY box_identifier",
+                Long.class, eventId);
+
+        jdbc.batchUpdate("INSERT INTO box_currencies (box_id, currency, amount) VALUES (?, 'EUR', 10.00)",
+                boxIds.subList(0, EMPTY_REQUESTS).stream().map(id -> new Object[]{id}).toList());
+        jdbc.update("UPDATE boxes SET currency_count = 1 WHERE assigned_event_id = ? AND id IN (SELECT box_id FROM box_currencies)",
+                eventId);
+        return boxIds;
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .timeout(Duration.ofMinutes(2))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    private static HttpServer startSlowUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/latest/", exchange -> {
+                try {
+                    Thread.sleep(UPSTREAM_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Counts the API requests in progress, around the real endpoints: as a servlet filter on the
+     * servlet stacks and as a web filter on the reactive one. Only the one matching the running
+     * stack is applied.
+     */
+    @TestConfiguration
+    static class InFlightRequests {
+
+        private final AtomicInteger inProgress = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final Set<String> serverThreads = ConcurrentHashMap.newKeySet();
+
+        @Bean
+        Filter inFlightServletRequests() {
+            return (request, response, chain) -> {
+                started();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    inProgress.decrementAndGet();
+                }
+            };
+        }
+
+        @Bean
+        WebFilter inFlightReactiveRequests() {
+            return (exchange, chain) -> {
+                started();
+                return chain.filter(exchange).doFinally(signal -> inProgress.decrementAndGet());
+            };
+        }
+
+        private void started() {
+            serverThreads.add(Thread.currentThread().getName());
+            peak.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+        }
+    }
+}
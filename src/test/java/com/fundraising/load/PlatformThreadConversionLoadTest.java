@@ -0,0 +1,20 @@
+package com.fundraising.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadConversionLoadTest extends ConversionLoadTest {
+
+    @Test
+    void shouldBeCappedByPlatformPoolSize() {
+        // When
+        int peak = runBurst();
+
+        // Then
+        assertTrue(peak <= PLATFORM_POOL_SIZE,
+                "Platform threads cannot serve more than " + PLATFORM_POOL_SIZE + " requests at once, peaked at " + peak);
+    }
+}
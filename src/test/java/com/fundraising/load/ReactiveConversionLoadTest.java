@@ -0,0 +1,32 @@
+package com.fundraising.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same burst as {@link PlatformThreadConversionLoadTest}, served by the reactive profile's
+ * controllers on Netty's event loop threads: its donation, box emptying and event list endpoints
+ * stand in for the servlet ones, with transfers composing the external converter's waits.
+ */
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = "spring.main.web-application-type=reactive")
+class ReactiveConversionLoadTest extends ConversionLoadTest {
+
+    // Reactor Netty's default number of event loop threads
+    private static final int EVENT_LOOP_THREADS = Math.max(Runtime.getRuntime().availableProcessors(), 4);
+
+    @Test
+    void shouldHoldFarMoreWaitingRequestsThanPlatformPoolSizeOnEventLoopThreads() {
+        // When
+        int peak = runBurst();
+
+        // Then
+        assertTrue(peak > 2 * PLATFORM_POOL_SIZE,
+                "Expected well over " + PLATFORM_POOL_SIZE + " concurrent requests but peaked at " + peak);
+        assertTrue(serverThreads() <= EVENT_LOOP_THREADS,
+                "Requests should only be handled by event loop threads, used " + serverThreads());
+    }
+}
@@ -0,0 +1,20 @@
+package com.fundraising.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadConversionLoadTest extends ConversionLoadTest {
+
+    @Test
+    void shouldServeFarMoreBlockedRequestsThanPlatformPoolSize() {
+        // When
+        int peak = runBurst();
+
+        // Then
+        assertTrue(peak > 2 * PLATFORM_POOL_SIZE,
+                "Expected well over " + PLATFORM_POOL_SIZE + " concurrent requests but peaked at " + peak);
+    }
+}
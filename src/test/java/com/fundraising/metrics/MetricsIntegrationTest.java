@@ -0,0 +1,99 @@
+package com.fundraising.metrics;
+
+import com.fundraising.entity.Box;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxRepository;
+import com.fundraising.repository.FundraisingEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "metrics.statement-count.enabled=true"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private FundraisingEventRepository fundraisingEventRepository;
+
+    @Autowired
+    private OutstandingMoneyGauge outstandingMoneyGauge;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRecordDonationAndTransferMetrics() throws Exception {
+        // Given
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("Metrics Event", Currency.EUR));
+        Box box = new Box("METRICS-001");
+        box.setStatus(BoxStatus.ASSIGNED);
+        box.setAssignedEvent(event);
+        boxRepository.save(box);
+
+        // When
+        mockMvc.perform(post("/api/boxes/{boxId}/money", box.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currency\":\"GBP\",\"amount\":12.50}"))
+                .andExpect(status().isOk());
+        outstandingMoneyGauge.refresh();
+        double outstandingGbp = meterRegistry.get("boxes.outstanding.amount").tag("currency", "GBP").gauge().value();
+        mockMvc.perform(post("/api/boxes/{boxId}/empty", box.getId()))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("donations").tag("currency", "GBP").counter().count());
+        assertEquals(12.5, meterRegistry.get("donations.amount").tag("currency", "GBP").counter().count());
+        assertEquals(12.5, outstandingGbp);
+        assertEquals(1, meterRegistry.get("boxes.operations").tag("operation", "add-money").timer().count());
+        assertEquals(1, meterRegistry.get("boxes.operations").tag("operation", "empty").timer().count());
+        assertTrue(meterRegistry.get("currency.conversions").tag("converter", "staticCurrencyConverter")
+                .counter().count() >= 1);
+
+        double statements = meterRegistry.get("http.server.requests.db.statements")
+                .tag("uri", "/api/boxes/{boxId}/empty").summary().totalAmount();
+        assertTrue(statements > 0, "Statements run by the empty request should be counted");
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("donations_total{")));
+    }
+
+    @Test
+    void shouldCountStatementsSentThroughJdbcTemplate() {
+        // Given
+        StatementCounter.reset();
+
+        // When
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM boxes", Long.class);
+        jdbcTemplate.execute("SELECT 1");
+        jdbcTemplate.batchUpdate("UPDATE boxes SET currency_count = currency_count WHERE id = ?",
+                List.of(new Object[]{-1L}, new Object[]{-2L}));
+
+        // Then - a plain statement counts per execution, a prepared batch once
+        assertEquals(3, StatementCounter.current());
+    }
+}
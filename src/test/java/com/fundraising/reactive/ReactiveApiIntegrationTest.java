@@ -0,0 +1,172 @@
+package com.fundraising.reactive;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.dto.CreateEventRequest;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.enums.Currency;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Runs the box lifecycle against the reactive profile on Netty, with its own in-memory database.
+ */
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.datasource.url=jdbc:h2:mem:reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive",
+                "spring.jpa.show-sql=false"
+        })
+class ReactiveApiIntegrationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ReactiveBoxTransferRepository boxTransferRepository;
+
+    @Test
+    void shouldTransferConvertedContentsOfEmptiedBoxToEvent() {
+        // Given
+        FundraisingEventDTO event = createEvent("Reactive Run", Currency.USD);
+        BoxDto box = registerBox("REACTIVE-001");
+        client.put().uri("/api/boxes/{boxId}/assign/{eventId}", box.getId(), event.getId())
+                .exchange()
+                .expectStatus().isOk();
+        addMoney(box.getId(), Currency.EUR, "100.00");
+        addMoney(box.getId(), Currency.EUR, "100.00");
+        addMoney(box.getId(), Currency.GBP, "10.00");
+
+        // When
+        BoxDto emptied = client.post().uri("/api/boxes/{boxId}/empty", box.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BoxDto.class).returnResult().getResponseBody();
+
+        // Then - 200 EUR at 1.18 and 10 GBP at 1.33
+        assertTrue(emptied.isEmpty());
+        client.get().uri("/api/events/{id}", event.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.balance").isEqualTo(249.30);
+        client.get().uri("/api/events")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody().jsonPath("$[?(@.id == %d)].balance".formatted(event.getId())).isEqualTo(249.30);
+        client.get().uri("/api/boxes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[?(@.id == %d)].empty".formatted(box.getId())).isEqualTo(true);
+        client.post().uri("/api/boxes/{boxId}/empty", box.getId())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Box is already empty");
+    }
+
+    @Test
+    void shouldKeepCurrencyDepositedWhileBoxIsEmptied() {
+        // Given
+        FundraisingEventDTO event = createEvent("Reactive Race", Currency.USD);
+        BoxDto box = registerBox("REACTIVE-003");
+        client.put().uri("/api/boxes/{boxId}/assign/{eventId}", box.getId(), event.getId())
+                .exchange()
+                .expectStatus().isOk();
+        addMoney(box.getId(), Currency.EUR, "100.00");
+        // A donation in a new currency commits after the transfer locked the box's rows and before it deletes them
+        doAnswer(invocation -> {
+            jdbcTemplate.update("INSERT INTO box_currencies (box_id, currency, amount) VALUES (?, 'USD', 5.00)", box.getId());
+            jdbcTemplate.update("UPDATE boxes SET currency_count = currency_count + 1 WHERE id = ?", box.getId());
+            // The repository is a proxy, so the spy's default answer is what reaches the real repository
+            return mockingDetails(boxTransferRepository).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+        }).when(boxTransferRepository).save(argThat(transfer -> box.getId().equals(transfer.boxId())));
+
+        // When
+        client.post().uri("/api/boxes/{boxId}/empty", box.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // Then - only the locked 100 EUR at 1.18 was transferred; the dollars stay in the box
+        client.get().uri("/api/events/{id}", event.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.balance").isEqualTo(118.00);
+        assertEquals(0, new BigDecimal("5.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM box_currencies WHERE box_id = ? AND currency = 'USD'", BigDecimal.class, box.getId())));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM box_currencies WHERE box_id = ?", Integer.class, box.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT currency_count FROM boxes WHERE id = ?", Integer.class, box.getId()));
+    }
+
+    @Test
+    void shouldRejectInvalidBoxOperations() {
+        // Given
+        FundraisingEventDTO event = createEvent("Reactive Gala", Currency.EUR);
+        BoxDto box = registerBox("REACTIVE-002");
+
+        // When & Then
+        client.post().uri("/api/boxes")
+                .bodyValue(new CreateBoxRequest("REACTIVE-002"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        client.post().uri("/api/boxes/{boxId}/money", box.getId())
+                .bodyValue(new AddMoneyRequest(Currency.EUR, new BigDecimal("5.00")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Box must be assigned to a fundraising event before adding money");
+        client.put().uri("/api/boxes/{boxId}/assign/{eventId}", 999_999L, event.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/api/events/{id}", 999_999L)
+                .exchange()
+                .expectStatus().isNotFound();
+        client.delete().uri("/api/boxes/{id}", box.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        client.delete().uri("/api/boxes/{id}", box.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private FundraisingEventDTO createEvent(String name, Currency currency) {
+        return client.post().uri("/api/events")
+                .bodyValue(new CreateEventRequest(name, currency))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(FundraisingEventDTO.class).returnResult().getResponseBody();
+    }
+
+    private BoxDto registerBox(String identifier) {
+        return client.post().uri("/api/boxes")
+                .bodyValue(new CreateBoxRequest(identifier))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BoxDto.class).returnResult().getResponseBody();
+    }
+
+    private void addMoney(Long boxId, Currency currency, String amount) {
+        client.post().uri("/api/boxes/{boxId}/money", boxId)
+                .bodyValue(new AddMoneyRequest(currency, new BigDecimal(amount)))
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,113 @@
+package com.fundraising.repository;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BoxCurrencyRepositoryTest {
+
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldApplyDeltasToExistingAndNewRows() {
+        // Given
+        Box box = new Box("BOX-001");
+        box.setCurrencyCount(1);
+        entityManager.persist(box);
+        entityManager.persist(new BoxCurrency(box, Currency.USD, new BigDecimal("10.00")));
+        entityManager.flush();
+
+        List<BoxCurrencyDelta> deltas = List.of(
+                new BoxCurrencyDelta(box.getId(), Currency.USD, new BigDecimal("2.50")),
+                new BoxCurrencyDelta(box.getId(), Currency.GBP, new BigDecimal("4.00")),
+                new BoxCurrencyDelta(box.getId() + 1000, Currency.EUR, new BigDecimal("1.00"))
+        );
+
+        // When
+        int applied = boxCurrencyRepository.applyDeltas(deltas);
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, applied, "The delta for a box that does not exist should be skipped");
+        Map<Currency, BigDecimal> amounts = boxCurrencyRepository.findByBox(box).stream()
+                .collect(Collectors.toMap(BoxCurrency::getCurrency, BoxCurrency::getAmount));
+        assertEquals(new BigDecimal("12.50"), amounts.get(Currency.USD));
+        assertEquals(new BigDecimal("4.00"), amounts.get(Currency.GBP));
+        assertEquals(2, amounts.size());
+        assertEquals(2, entityManager.find(Box.class, box.getId()).getCurrencyCount(),
+                "Only the new GBP row should be counted");
+    }
+
+    @Test
+    void shouldLoadCurrencyRowsOfAssignedBoxesOnly() {
+        // Given
+        FundraisingEvent event = entityManager.persist(new FundraisingEvent("Charity Run", Currency.USD));
+        Box assigned = new Box("BOX-001");
+        assigned.setStatus(BoxStatus.ASSIGNED);
+        assigned.setAssignedEvent(event);
+        entityManager.persist(assigned);
+        Box available = entityManager.persist(new Box("BOX-002"));
+        entityManager.persist(new BoxCurrency(assigned, Currency.USD, new BigDecimal("10.00")));
+        entityManager.persist(new BoxCurrency(assigned, Currency.EUR, new BigDecimal("5.00")));
+        entityManager.persist(new BoxCurrency(available, Currency.USD, new BigDecimal("1.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<BoxCurrency> rows = boxCurrencyRepository.findByAssignedEventIdForUpdate(event.getId());
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getBox().getBoxIdentifier().equals("BOX-001")));
+    }
+
+    @Test
+    void shouldSumAssignedAmountsPerEventAndCurrency() {
+        // Given
+        FundraisingEvent event = entityManager.persist(new FundraisingEvent("Charity Run", Currency.USD));
+        Box first = persistAssignedBox("BOX-001", event);
+        Box second = persistAssignedBox("BOX-002", event);
+        Box available = entityManager.persist(new Box("BOX-003"));
+        entityManager.persist(new BoxCurrency(first, Currency.USD, new BigDecimal("10.00")));
+        entityManager.persist(new BoxCurrency(second, Currency.USD, new BigDecimal("2.50")));
+        entityManager.persist(new BoxCurrency(second, Currency.EUR, new BigDecimal("5.00")));
+        entityManager.persist(new BoxCurrency(available, Currency.USD, new BigDecimal("1.00")));
+        entityManager.flush();
+
+        // When
+        Map<Currency, BigDecimal> totals = boxCurrencyRepository.sumAssignedAmountsByEventAndCurrency().stream()
+                .peek(row -> assertEquals(event.getId(), row[0]))
+                .collect(Collectors.toMap(row -> (Currency) row[1], row -> (BigDecimal) row[2]));
+
+        // Then
+        assertEquals(2, totals.size());
+        assertEquals(new BigDecimal("12.50"), totals.get(Currency.USD));
+        assertEquals(new BigDecimal("5.00"), totals.get(Currency.EUR));
+    }
+
+    private Box persistAssignedBox(String identifier, FundraisingEvent event) {
+        Box box = new Box(identifier);
+        box.setStatus(BoxStatus.ASSIGNED);
+        box.setAssignedEvent(event);
+        return entityManager.persist(box);
+    }
+}
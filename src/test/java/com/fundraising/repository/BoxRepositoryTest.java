@@ -0,0 +1,198 @@
+package com.fundraising.repository;
+
+import com.fundraising.dto.BoxDto;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BoxRepositoryTest {
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private FundraisingEvent event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        event = entityManager.persist(new FundraisingEvent("Charity Run", Currency.USD));
+    }
+
+    @Test
+    void shouldComputeAssignedAndEmptyFlagsInListing() {
+        // Given
+        Box available = entityManager.persist(new Box("BOX-001"));
+        Box assignedEmpty = persistAssignedBox("BOX-002");
+        Box assignedWithMoney = persistAssignedBox("BOX-003", 2);
+        entityManager.persist(new BoxCurrency(assignedWithMoney, Currency.USD, new BigDecimal("10.00")));
+        entityManager.persist(new BoxCurrency(assignedWithMoney, Currency.EUR, new BigDecimal("5.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<BoxDto> result = boxRepository.findAllBoxSummaries();
+
+        // Then
+        assertEquals(3, result.size());
+        assertBox(result.get(0), available.getId(), "BOX-001", false, true);
+        assertBox(result.get(1), assignedEmpty.getId(), "BOX-002", true, true);
+        assertBox(result.get(2), assignedWithMoney.getId(), "BOX-003", true, false);
+    }
+
+    @Test
+    void shouldListBoxesWithConstantStatementCount() {
+        // Given
+        persistBoxesWithMoney(0, 5);
+        long smallListingStatements = countStatementsForListing();
+
+        persistBoxesWithMoney(5, 200);
+        long largeListingStatements = countStatementsForListing();
+
+        // Then
+        assertEquals(1, smallListingStatements);
+        assertEquals(smallListingStatements, largeListingStatements);
+    }
+
+    @Test
+    void shouldPageBoxesByIdCursor() {
+        // Given
+        persistBoxesWithMoney(0, 5);
+        entityManager.flush();
+        entityManager.clear();
+        List<BoxDto> all = boxRepository.findAllBoxSummaries();
+
+        // When
+        List<BoxDto> firstPage = boxRepository.findBoxSummariesAfter(0L, Limit.of(2));
+        List<BoxDto> secondPage = boxRepository.findBoxSummariesAfter(firstPage.get(1).getId(), Limit.of(2));
+
+        // Then
+        assertEquals(2, firstPage.size());
+        assertEquals(all.get(0).getId(), firstPage.get(0).getId());
+        assertEquals(all.get(2).getId(), secondPage.get(0).getId());
+        assertEquals(all.get(3).getId(), secondPage.get(1).getId());
+        assertFalse(secondPage.get(0).isEmpty());
+    }
+
+    @Test
+    void shouldFindAndRepairCurrencyCountDrift() {
+        // Given
+        Box consistent = persistAssignedBox("BOX-001", 1);
+        entityManager.persist(new BoxCurrency(consistent, Currency.USD, new BigDecimal("1.00")));
+        Box missingCount = persistAssignedBox("BOX-002", 0);
+        entityManager.persist(new BoxCurrency(missingCount, Currency.USD, new BigDecimal("1.00")));
+        entityManager.persist(new BoxCurrency(missingCount, Currency.EUR, new BigDecimal("1.00")));
+        Box staleCount = persistAssignedBox("BOX-003", 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> drifted = boxRepository.findIdsWithCurrencyCountDrift();
+        int repaired = boxRepository.recountCurrencies(drifted);
+        entityManager.clear();
+
+        // Then
+        assertEquals(List.of(missingCount.getId(), staleCount.getId()), drifted.stream().sorted().toList());
+        assertEquals(2, repaired);
+        assertEquals(2, boxRepository.findById(missingCount.getId()).orElseThrow().getCurrencyCount());
+        assertEquals(0, boxRepository.findById(staleCount.getId()).orElseThrow().getCurrencyCount());
+        assertTrue(boxRepository.findIdsWithCurrencyCountDrift().isEmpty());
+    }
+
+    @Test
+    void shouldAdjustCurrencyCountInDatabase() {
+        // Given
+        Box box = persistAssignedBox("BOX-001", 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        boxRepository.adjustCurrencyCount(List.of(box.getId()), 2);
+        entityManager.clear();
+
+        // Then
+        assertEquals(Optional.of(3), boxRepository.findCurrencyCountById(box.getId()));
+    }
+
+    @Test
+    void shouldInsertNewBoxesInBatches() {
+        // Given
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < 240; i++) {
+            boxes.add(new Box("BOX-" + i));
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        // When
+        boxRepository.saveAll(boxes);
+        entityManager.flush();
+
+        // Then - five blocks of ids from boxes_seq, and one insert statement sent in batches of 50 instead of 240 inserts
+        assertEquals(240, boxes.stream().map(Box::getId).distinct().count());
+        assertEquals(6, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatementsForListing() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<BoxDto> boxes = boxRepository.findAllBoxSummaries();
+        assertFalse(boxes.isEmpty());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistBoxesWithMoney(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Box box = persistAssignedBox("BOX-" + i, 1);
+            entityManager.persist(new BoxCurrency(box, Currency.USD, new BigDecimal("1.00")));
+        }
+    }
+
+    private Box persistAssignedBox(String identifier) {
+        return persistAssignedBox(identifier, 0);
+    }
+
+    private Box persistAssignedBox(String identifier, int currencyCount) {
+        Box box = new Box(identifier);
+        box.setStatus(BoxStatus.ASSIGNED);
+        box.setAssignedEvent(event);
+        box.setCurrencyCount(currencyCount);
+        return entityManager.persist(box);
+    }
+
+    private void assertBox(BoxDto dto, Long id, String identifier, boolean assigned, boolean empty) {
+        assertEquals(id, dto.getId());
+        assertEquals(identifier, dto.getBoxIdentifier());
+        assertEquals(assigned, dto.isAssigned());
+        assertEquals(empty, dto.isEmpty());
+    }
+}
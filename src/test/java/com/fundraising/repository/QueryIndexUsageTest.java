@@ -0,0 +1,142 @@
+package com.fundraising.repository;
+
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each lookup query of the repositories, captures the SQL Hibernate sent and checks
+ * with H2's EXPLAIN that it is answered from the expected index rather than a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.fundraising.repository.QueryIndexUsageTest$LastStatement")
+class QueryIndexUsageTest {
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    private ExchangeRateSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BoxTransferRepository boxTransferRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private FundraisingEvent event;
+    private Box box;
+
+    @BeforeEach
+    void setUp() {
+        event = entityManager.persist(new FundraisingEvent("Charity Run", Currency.USD));
+        box = new Box("BOX-001");
+        box.setStatus(BoxStatus.ASSIGNED);
+        box.setAssignedEvent(event);
+        entityManager.persist(box);
+        entityManager.persist(new BoxCurrency(box, Currency.USD, new BigDecimal("10.00")));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldLookUpBoxCurrenciesByBoxAndCurrencyIndex() {
+        assertUsesIndex("UK_BOX_CURRENCIES_BOX_CURRENCY",
+                () -> boxCurrencyRepository.findByBoxAndCurrency(box, Currency.USD), box.getId(), "USD");
+        assertUsesIndex("UK_BOX_CURRENCIES_BOX_CURRENCY",
+                () -> boxCurrencyRepository.incrementAmount(box.getId(), Currency.USD, BigDecimal.ONE),
+                BigDecimal.ONE, box.getId(), "USD");
+    }
+
+    @Test
+    void shouldLookUpBoxCurrenciesByBoxIndex() {
+        assertUsesIndexOn("BOX_CURRENCIES", () -> boxCurrencyRepository.findByBox(box), box.getId());
+        assertUsesIndexOn("BOX_CURRENCIES", () -> boxCurrencyRepository.findByBoxForUpdate(box), box.getId());
+        assertUsesIndexOn("BOX_CURRENCIES",
+                () -> boxCurrencyRepository.findByBoxIdInForUpdate(List.of(box.getId())), box.getId());
+    }
+
+    @Test
+    void shouldSumBoxAmountsFromCoveringIndex() {
+        assertUsesIndex("IDX_BOX_CURRENCIES_BOX_AMOUNT",
+                () -> boxCurrencyRepository.getTotalAmountInBox(box), box.getId());
+        assertUsesIndex("IDX_BOX_CURRENCIES_BOX_AMOUNT",
+                () -> boxRepository.findIdsWithCurrencyCountDrift());
+    }
+
+    @Test
+    void shouldFindBoxesOfEventByAssignedEventIndex() {
+        assertUsesIndex("IDX_BOXES_ASSIGNED_EVENT_STATUS",
+                () -> boxCurrencyRepository.findByAssignedEventIdForUpdate(event.getId()), event.getId());
+    }
+
+    @Test
+    void shouldLookUpBoxesByIdentifierAndPrimaryKey() {
+        assertUsesIndex("UK_BOXES_BOX_IDENTIFIER", () -> boxRepository.findByBoxIdentifier("BOX-001"), "BOX-001");
+        assertUsesIndex("UK_BOXES_BOX_IDENTIFIER", () -> boxRepository.existsByBoxIdentifier("BOX-001"), "BOX-001");
+        assertUsesIndex("PRIMARY_KEY", () -> boxRepository.findCurrencyCountById(box.getId()), box.getId());
+        assertUsesIndex("PRIMARY_KEY",
+                () -> boxRepository.findBoxSummariesAfter(0L, Limit.of(10)), 0L);
+    }
+
+    @Test
+    void shouldLookUpSnapshotsAndTransfersByIndex() {
+        assertUsesIndex("IDX_EXCHANGE_RATE_SNAPSHOTS_BASE_FETCHED",
+                () -> snapshotRepository.findFirstByBaseCurrencyOrderByFetchedAtDescIdDesc(Currency.USD), "USD");
+        assertUsesIndex("IDX_BOX_TRANSFERS_EVENT",
+                () -> boxTransferRepository.findByEventId(event.getId()), event.getId());
+    }
+
+    private void assertUsesIndex(String index, Runnable query, Object... parameters) {
+        String plan = explain(query, parameters);
+        assertTrue(plan.contains("PUBLIC." + index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private void assertUsesIndexOn(String table, Runnable query, Object... parameters) {
+        String plan = explain(query, parameters);
+        assertFalse(plan.contains(table + ".tableScan"), () -> "Expected an index on " + table + " in plan:\n" + plan);
+    }
+
+    /**
+     * Runs the query and explains the first statement it sent, bound to the same parameters.
+     */
+    private String explain(Runnable query, Object... parameters) {
+        LastStatement.STATEMENTS.clear();
+        query.run();
+        assertFalse(LastStatement.STATEMENTS.isEmpty(), "The query sent no statement");
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.STATEMENTS.get(0), String.class, parameters);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fundraising.service;
+
+import com.fundraising.repository.BoxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoxCurrencyCountReconcilerTest {
+
+    @Mock
+    private BoxRepository boxRepository;
+
+    @InjectMocks
+    private BoxCurrencyCountReconciler reconciler;
+
+    @Test
+    void shouldRecountOnlyDriftedBoxes() {
+        // Given
+        when(boxRepository.findIdsWithCurrencyCountDrift()).thenReturn(List.of(3L, 7L));
+        when(boxRepository.recountCurrencies(List.of(3L, 7L))).thenReturn(2);
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertEquals(2, repaired);
+        verify(boxRepository).recountCurrencies(List.of(3L, 7L));
+    }
+
+    @Test
+    void shouldDoNothingWhenCountsAreConsistent() {
+        // Given
+        when(boxRepository.findIdsWithCurrencyCountDrift()).thenReturn(List.of());
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertEquals(0, repaired);
+        verify(boxRepository, never()).recountCurrencies(anyCollection());
+    }
+}
@@ -0,0 +1,202 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import com.fundraising.repository.FundraisingEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.show-sql=false")
+class BoxServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    private FundraisingEventRepository fundraisingEventRepository;
+
+    @Autowired
+    private EventLeaderboard eventLeaderboard;
+
+    @Test
+    void shouldNotLoseConcurrentDonationsToOneBox() throws Exception {
+        // Given
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("Concurrent Donations", Currency.USD));
+        Box box = new Box("CONCURRENT-001");
+        boxRepository.save(box);
+        boxService.assignBoxToEvent(box.getId(), event.getId());
+
+        int donations = 3000;
+        Currency[] currencies = Currency.values();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < donations; i++) {
+            AddMoneyRequest request = new AddMoneyRequest(currencies[i % currencies.length], new BigDecimal("0.01"));
+            tasks.add(() -> {
+                boxService.addMoneyToBox(box.getId(), request);
+                return null;
+            });
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        Map<Currency, BigDecimal> amounts = boxCurrencyRepository.findByBox(box).stream()
+                .collect(Collectors.toMap(BoxCurrency::getCurrency, BoxCurrency::getAmount));
+
+        assertEquals(currencies.length, amounts.size());
+        for (Currency currency : currencies) {
+            assertEquals(0, new BigDecimal("10.00").compareTo(amounts.get(currency)),
+                    "Unexpected total for " + currency + ": " + amounts.get(currency));
+        }
+    }
+
+    @Test
+    void shouldNotLoseMoneyWhenBoxesAreEmptiedIntoOneEventInParallel() throws Exception {
+        // Given
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("Concurrent Transfers", Currency.USD));
+        int boxCount = 1000;
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < boxCount; i++) {
+            Box box = new Box("PARALLEL-" + i);
+            box.setStatus(BoxStatus.ASSIGNED);
+            box.setAssignedEvent(event);
+            box.setCurrencyCount(1);
+            boxes.add(box);
+        }
+        boxRepository.saveAll(boxes);
+
+        List<BoxCurrency> contents = new ArrayList<>();
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < boxCount; i++) {
+            BigDecimal amount = new BigDecimal("1.00").add(new BigDecimal(i).movePointLeft(2));
+            contents.add(new BoxCurrency(boxes.get(i), Currency.USD, amount));
+            expected = expected.add(amount);
+        }
+        boxCurrencyRepository.saveAll(contents);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Box box : boxes) {
+            tasks.add(() -> {
+                boxService.emptyBox(box.getId());
+                return null;
+            });
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        BigDecimal balance = fundraisingEventRepository.findById(event.getId()).orElseThrow().getBalance();
+        assertEquals(0, expected.compareTo(balance), "Expected " + expected + " but was " + balance);
+        assertTrue(boxes.stream().allMatch(box -> boxCurrencyRepository.findByBox(box).isEmpty()));
+        BigDecimal leaderboardBalance = eventLeaderboard.snapshot().events().stream()
+                .filter(dto -> dto.getId().equals(event.getId()))
+                .findFirst().orElseThrow().getBalance();
+        assertEquals(0, expected.compareTo(leaderboardBalance), "Leaderboard should end at the committed balance");
+    }
+
+    @Test
+    void shouldKeepCurrencyDepositedWhileBoxIsEmptied() throws Exception {
+        // Given - what one euro is worth in the event currency, from a box emptied on its own
+        FundraisingEvent reference = fundraisingEventRepository.save(new FundraisingEvent("Reference Rate", Currency.USD));
+        Box referenceBox = boxWithEuro("REFERENCE-RATE", reference);
+        boxService.emptyBox(referenceBox.getId());
+        BigDecimal euroInDollars = fundraisingEventRepository.findById(reference.getId()).orElseThrow().getBalance();
+
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("Empty While Donating", Currency.USD));
+        int boxCount = 200;
+        List<Box> boxes = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < boxCount; i++) {
+            Box box = boxWithEuro("RACE-" + i, event);
+            boxes.add(box);
+            tasks.add(() -> {
+                boxService.emptyBox(box.getId());
+                return null;
+            });
+            // A currency the box does not hold yet, so the donation inserts a row the emptying has not locked
+            tasks.add(() -> {
+                boxService.addMoneyToBox(box.getId(), new AddMoneyRequest(Currency.USD, new BigDecimal("1.00")));
+                return null;
+            });
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then - every dollar is either still in its box or transferred along with the box's euro
+        BigDecimal dollarsLeft = BigDecimal.ZERO;
+        for (Box box : boxes) {
+            List<BoxCurrency> rows = boxCurrencyRepository.findByBox(box);
+            assertTrue(rows.stream().allMatch(row -> row.getCurrency() == Currency.USD), "The euro must be transferred");
+            dollarsLeft = dollarsLeft.add(rows.stream().map(BoxCurrency::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+            assertEquals(rows.size(), boxRepository.findCurrencyCountById(box.getId()).orElseThrow(),
+                    "Currency count of box " + box.getId());
+        }
+        BigDecimal expected = euroInDollars.multiply(BigDecimal.valueOf(boxCount))
+                .add(new BigDecimal("1.00").multiply(BigDecimal.valueOf(boxCount)))
+                .subtract(dollarsLeft);
+        BigDecimal balance = fundraisingEventRepository.findById(event.getId()).orElseThrow().getBalance();
+        assertEquals(0, expected.compareTo(balance), "Expected " + expected + " but was " + balance);
+    }
+
+    private Box boxWithEuro(String identifier, FundraisingEvent event) {
+        Box box = new Box(identifier);
+        box.setStatus(BoxStatus.ASSIGNED);
+        box.setAssignedEvent(event);
+        box.setCurrencyCount(1);
+        boxRepository.save(box);
+        boxCurrencyRepository.save(new BoxCurrency(box, Currency.EUR, new BigDecimal("1.00")));
+        return box;
+    }
+}
@@ -0,0 +1,112 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import com.fundraising.repository.FundraisingEventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that unregistering and emptying a box run the same number of statements whether the
+ * box holds money in one currency or in all of them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keep the background refreshes from running statements during the measurements
+        "metrics.outstanding-money.refresh-ms=3600000",
+        "events.leaderboard.resync-ms=3600000"})
+class BoxServiceStatementCountTest {
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    private FundraisingEventRepository fundraisingEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private FundraisingEvent event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        event = fundraisingEventRepository.save(new FundraisingEvent("Statements " + System.nanoTime(), Currency.USD));
+    }
+
+    @Test
+    void shouldUnregisterBoxWithConstantStatementCount() {
+        // Given
+        BoxDto oneCurrency = boxWithMoney("UNREGISTER-1", Currency.USD);
+        BoxDto allCurrencies = boxWithMoney("UNREGISTER-2", Currency.values());
+
+        // When
+        long oneCurrencyStatements = countStatements(boxService::unregisterBox, oneCurrency.getId());
+        long allCurrenciesStatements = countStatements(boxService::unregisterBox, allCurrencies.getId());
+
+        // Then - existence check, one delete of the currency rows and one of the box
+        assertEquals(3, oneCurrencyStatements);
+        assertEquals(oneCurrencyStatements, allCurrenciesStatements);
+        assertFalse(boxRepository.existsById(allCurrencies.getId()));
+        assertEquals(0, boxCurrencyRepository.findAll().stream()
+                .filter(row -> row.getBox().getId().equals(allCurrencies.getId()))
+                .count());
+    }
+
+    @Test
+    void shouldEmptyBoxWithConstantStatementCount() {
+        // Given
+        BoxDto oneCurrency = boxWithMoney("EMPTY-1", Currency.USD);
+        BoxDto allCurrencies = boxWithMoney("EMPTY-2", Currency.values());
+
+        // When
+        long oneCurrencyStatements = countStatements(boxService::emptyBox, oneCurrency.getId());
+        long allCurrenciesStatements = countStatements(boxService::emptyBox, allCurrencies.getId());
+
+        // Then
+        assertEquals(oneCurrencyStatements, allCurrenciesStatements);
+        assertEquals(Integer.valueOf(0), boxRepository.findCurrencyCountById(allCurrencies.getId()).orElseThrow());
+        assertEquals(0, boxCurrencyRepository.findAll().stream()
+                .filter(row -> row.getBox().getId().equals(allCurrencies.getId()))
+                .count());
+    }
+
+    private BoxDto boxWithMoney(String identifier, Currency... currencies) {
+        BoxDto box = boxService.registerBox(new CreateBoxRequest(identifier + "-" + System.nanoTime()));
+        boxService.assignBoxToEvent(box.getId(), event.getId());
+        Arrays.stream(currencies).forEach(currency ->
+                boxService.addMoneyToBox(box.getId(), new AddMoneyRequest(currency, new BigDecimal("10.00"))));
+        return box;
+    }
+
+    private long countStatements(Consumer<Long> operation, Long boxId) {
+        statistics.clear();
+        operation.accept(boxId);
+        return statistics.getPrepareStatementCount();
+    }
+}
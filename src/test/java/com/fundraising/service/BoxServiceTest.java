@@ -2,7 +2,9 @@ package com.fundraising.service;
 
 import com.fundraising.dto.AddMoneyRequest;
 import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.BoxPage;
 import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.dto.EmptyBoxesResult;
 import com.fundraising.entity.Box;
 import com.fundraising.entity.BoxCurrency;
 import com.fundraising.entity.FundraisingEvent;
@@ -13,20 +15,29 @@ import com.fundraising.exception.DuplicateBoxIdentifierException;
 import com.fundraising.mapper.BoxMapper;
 import com.fundraising.repository.BoxCurrencyRepository;
 import com.fundraising.repository.BoxRepository;
+import com.fundraising.repository.BoxTransferRepository;
 import com.fundraising.repository.FundraisingEventRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,16 +58,36 @@ class BoxServiceTest {
     @Mock
     private CurrencyConverter currencyConverter;
 
+    @Mock
+    private ExchangeRateSnapshots rateSnapshots;
+
+    @Mock
+    private BoxTransferRepository boxTransferRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private BoxService service;
 
     @BeforeEach
     void setUp() {
+        lenient().when(currencyConverter.loadRates(any())).thenReturn(CompletableFuture.completedFuture(null));
         service = new BoxService(
                 boxRepository,
                 boxCurrencyRepository,
                 fundraisingEventRepository,
                 boxMapper,
-                currencyConverter
+                currencyConverter,
+                rateSnapshots,
+                boxTransferRepository,
+                new RetryingTransactionTemplate(transactionManager, 3, 0, 0),
+                eventPublisher,
+                100,
+                1000,
+                Optional.empty()
         );
     }
 
@@ -71,7 +102,7 @@ class BoxServiceTest {
         when(boxRepository.existsByBoxIdentifier("BOX-001")).thenReturn(false);
         when(boxMapper.toEntity(request)).thenReturn(box);
         when(boxRepository.save(box)).thenReturn(box);
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxMapper.toDto(box, true)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.registerBox(request);
@@ -85,7 +116,7 @@ class BoxServiceTest {
         verify(boxRepository).existsByBoxIdentifier("BOX-001");
         verify(boxMapper).toEntity(request);
         verify(boxRepository).save(box);
-        verify(boxMapper).toDto(box);
+        verify(boxMapper).toDto(box, true);
     }
 
     @Test
@@ -110,30 +141,25 @@ class BoxServiceTest {
     void shouldUnregisterBoxSuccessfully() {
         // Given
         Long boxId = 1L;
-        Box box = new Box("BOX-001");
-        box.setId(boxId);
-        List<BoxCurrency> currencies = Arrays.asList(
-                new BoxCurrency(box, Currency.USD, new BigDecimal("10.00"))
-        );
 
-        when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
-        when(boxCurrencyRepository.findByBox(box)).thenReturn(currencies);
+        when(boxRepository.existsById(boxId)).thenReturn(true);
+        when(boxCurrencyRepository.deleteByBoxId(boxId)).thenReturn(1);
 
         // When
         service.unregisterBox(boxId);
 
         // Then
-        verify(boxRepository).findById(boxId);
-        verify(boxCurrencyRepository).findByBox(box);
-        verify(boxCurrencyRepository).deleteAll(currencies);
-        verify(boxRepository).delete(box);
+        verify(boxRepository).existsById(boxId);
+        verify(boxCurrencyRepository).deleteByBoxId(boxId);
+        verify(boxCurrencyRepository, never()).findByBox(any());
+        verify(boxRepository).deleteByIdIn(List.of(boxId));
     }
 
     @Test
     void shouldThrowExceptionWhenUnregisteringNonExistentBox() {
         // Given
         Long nonExistentId = 999L;
-        when(boxRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(boxRepository.existsById(nonExistentId)).thenReturn(false);
 
         // When & Then
         BoxNotFoundException exception = assertThrows(
@@ -142,9 +168,9 @@ class BoxServiceTest {
         );
 
         assertEquals("Box with ID 999 not found", exception.getMessage());
-        verify(boxRepository).findById(nonExistentId);
-        verify(boxCurrencyRepository, never()).findByBox(any());
-        verify(boxRepository, never()).delete(any());
+        verify(boxRepository).existsById(nonExistentId);
+        verify(boxCurrencyRepository, never()).deleteByBoxId(any());
+        verify(boxRepository, never()).deleteByIdIn(any());
     }
 
     @Test
@@ -163,9 +189,8 @@ class BoxServiceTest {
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
         when(fundraisingEventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(boxCurrencyRepository.isBoxEmpty(box)).thenReturn(true);
         when(boxRepository.save(box)).thenReturn(box);
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxMapper.toDto(box, true)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.assignBoxToEvent(boxId, eventId);
@@ -178,9 +203,9 @@ class BoxServiceTest {
 
         verify(boxRepository).findById(boxId);
         verify(fundraisingEventRepository).findById(eventId);
-        verify(boxCurrencyRepository).isBoxEmpty(box);
+        verifyNoInteractions(boxCurrencyRepository);
         verify(boxRepository).save(box);
-        verify(boxMapper).toDto(box);
+        verify(boxMapper).toDto(box, true);
     }
 
     @Test
@@ -219,7 +244,7 @@ class BoxServiceTest {
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
         when(fundraisingEventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(boxCurrencyRepository.isBoxEmpty(box)).thenReturn(false);
+        box.setCurrencyCount(1);
 
         // When & Then
         IllegalStateException exception = assertThrows(
@@ -243,7 +268,7 @@ class BoxServiceTest {
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
         when(boxRepository.save(box)).thenReturn(box);
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxMapper.toDto(box, true)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.unassignBoxFromEvent(boxId);
@@ -256,7 +281,7 @@ class BoxServiceTest {
 
         verify(boxRepository).findById(boxId);
         verify(boxRepository).save(box);
-        verify(boxMapper).toDto(box);
+        verify(boxMapper).toDto(box, true);
     }
 
     @Test
@@ -269,26 +294,23 @@ class BoxServiceTest {
         box.setId(boxId);
         box.setStatus(BoxStatus.ASSIGNED);
 
-        BoxCurrency existingCurrency = new BoxCurrency(box, Currency.USD, new BigDecimal("25.00"));
         BoxDto expectedDto = new BoxDto(boxId, "BOX-001", true, false);
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
-        when(boxCurrencyRepository.findByBoxAndCurrency(box, Currency.USD))
-                .thenReturn(Optional.of(existingCurrency));
-        when(boxCurrencyRepository.save(existingCurrency)).thenReturn(existingCurrency);
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxCurrencyRepository.incrementAmount(boxId, Currency.USD, new BigDecimal("50.00"))).thenReturn(1);
+        when(boxMapper.toDto(box, false)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.addMoneyToBox(boxId, request);
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("75.00"), existingCurrency.getAmount());
+        assertFalse(result.isEmpty());
 
         verify(boxRepository).findById(boxId);
-        verify(boxCurrencyRepository).findByBoxAndCurrency(box, Currency.USD);
-        verify(boxCurrencyRepository).save(existingCurrency);
-        verify(boxMapper).toDto(box);
+        verify(boxCurrencyRepository).incrementAmount(boxId, Currency.USD, new BigDecimal("50.00"));
+        verify(boxCurrencyRepository, never()).saveAndFlush(any());
+        verify(boxMapper).toDto(box, false);
     }
 
     @Test
@@ -304,9 +326,8 @@ class BoxServiceTest {
         BoxDto expectedDto = new BoxDto(boxId, "BOX-001", true, false);
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
-        when(boxCurrencyRepository.findByBoxAndCurrency(box, Currency.EUR))
-                .thenReturn(Optional.empty());
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxCurrencyRepository.incrementAmount(boxId, Currency.EUR, new BigDecimal("30.00"))).thenReturn(0);
+        when(boxMapper.toDto(box, false)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.addMoneyToBox(boxId, request);
@@ -314,9 +335,35 @@ class BoxServiceTest {
         // Then
         assertNotNull(result);
         verify(boxRepository).findById(boxId);
-        verify(boxCurrencyRepository).findByBoxAndCurrency(box, Currency.EUR);
-        verify(boxCurrencyRepository).save(any(BoxCurrency.class));
-        verify(boxMapper).toDto(box);
+        verify(boxCurrencyRepository).incrementAmount(boxId, Currency.EUR, new BigDecimal("30.00"));
+        verify(boxCurrencyRepository).saveAndFlush(any(BoxCurrency.class));
+        verify(boxRepository).adjustCurrencyCount(List.of(boxId), 1);
+        verify(boxMapper).toDto(box, false);
+    }
+
+    @Test
+    void shouldIncrementWhenConcurrentDonationCreatedCurrencyFirst() {
+        // Given
+        Long boxId = 1L;
+        AddMoneyRequest request = new AddMoneyRequest(Currency.GBP, new BigDecimal("20.00"));
+
+        Box box = new Box("BOX-001");
+        box.setId(boxId);
+        box.setStatus(BoxStatus.ASSIGNED);
+
+        when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
+        when(boxCurrencyRepository.incrementAmount(boxId, Currency.GBP, new BigDecimal("20.00")))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(boxCurrencyRepository.saveAndFlush(any(BoxCurrency.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_box_currencies_box_currency"));
+
+        // When
+        service.addMoneyToBox(boxId, request);
+
+        // Then
+        verify(boxCurrencyRepository, times(2)).incrementAmount(boxId, Currency.GBP, new BigDecimal("20.00"));
+        verify(boxCurrencyRepository).saveAndFlush(any(BoxCurrency.class));
     }
 
     @Test
@@ -348,39 +395,131 @@ class BoxServiceTest {
         box.setStatus(BoxStatus.ASSIGNED);
 
         FundraisingEvent event = new FundraisingEvent("Charity Run", Currency.USD);
+        event.setId(10L);
         event.setBalance(new BigDecimal("100.00"));
         box.setAssignedEvent(event);
 
         List<BoxCurrency> boxCurrencies = Arrays.asList(
-                new BoxCurrency(box, Currency.USD, new BigDecimal("50.00")),
-                new BoxCurrency(box, Currency.EUR, new BigDecimal("25.00"))
+                boxCurrency(11L, box, Currency.USD, "50.00"),
+                boxCurrency(12L, box, Currency.EUR, "25.00"),
+                boxCurrency(13L, box, Currency.GBP, "0.00")
         );
 
         BoxDto expectedDto = new BoxDto(boxId, "BOX-001", true, true);
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
-        when(boxCurrencyRepository.findByBox(box)).thenReturn(boxCurrencies);
-        when(currencyConverter.convert(new BigDecimal("50.00"), Currency.USD, Currency.USD))
-                .thenReturn(new BigDecimal("50.00"));
-        when(currencyConverter.convert(new BigDecimal("25.00"), Currency.EUR, Currency.USD))
-                .thenReturn(new BigDecimal("29.50"));
-        when(fundraisingEventRepository.save(event)).thenReturn(event);
-        when(boxMapper.toDto(box)).thenReturn(expectedDto);
+        when(boxCurrencyRepository.findByBoxForUpdate(box)).thenReturn(boxCurrencies);
+        Map<Currency, BigDecimal> amounts = Map.of(
+                Currency.USD, new BigDecimal("50.00"),
+                Currency.EUR, new BigDecimal("25.00"));
+        when(currencyConverter.convertAll(amounts, Currency.USD)).thenReturn(new BigDecimal("79.50"));
+        when(fundraisingEventRepository.addToBalance(10L, new BigDecimal("79.50"))).thenReturn(1);
+        when(boxMapper.toDto(box, true)).thenReturn(expectedDto);
 
         // When
         BoxDto result = service.emptyBox(boxId);
 
         // Then
         assertNotNull(result);
-        assertEquals(new BigDecimal("179.50"), event.getBalance());
 
         verify(boxRepository).findById(boxId);
-        verify(boxCurrencyRepository).findByBox(box);
-        verify(currencyConverter).convert(new BigDecimal("50.00"), Currency.USD, Currency.USD);
-        verify(currencyConverter).convert(new BigDecimal("25.00"), Currency.EUR, Currency.USD);
-        verify(fundraisingEventRepository).save(event);
-        verify(boxCurrencyRepository).deleteAll(boxCurrencies);
-        verify(boxMapper).toDto(box);
+        verify(boxCurrencyRepository).findByBoxForUpdate(box);
+        verify(currencyConverter).convertAll(amounts, Currency.USD);
+        verify(currencyConverter, never()).convert(any(), any(), any());
+        verify(fundraisingEventRepository).addToBalance(10L, new BigDecimal("79.50"));
+        verify(fundraisingEventRepository, never()).save(any());
+        verify(boxCurrencyRepository).deleteAllByIdInBatch(List.of(11L, 12L, 13L));
+        verify(boxCurrencyRepository, never()).deleteByBoxId(any());
+        verify(boxRepository).adjustCurrencyCount(List.of(boxId), -2);
+        verify(boxTransferRepository).save(argThat(transfer -> transfer.getBoxId().equals(boxId)
+                && transfer.getAmount().equals(new BigDecimal("79.50"))
+                && transfer.getRateSnapshotId() == null));
+        verify(eventPublisher).publishEvent(new FundraisingEventChanged(10L));
+        verify(boxMapper).toDto(box, true);
+    }
+
+    @Test
+    void shouldEmptyBoxWithLatestRateSnapshotAndRecordIt() {
+        // Given
+        Long boxId = 1L;
+        Box box = new Box("BOX-001");
+        box.setId(boxId);
+        box.setStatus(BoxStatus.ASSIGNED);
+
+        FundraisingEvent event = new FundraisingEvent("Charity Run", Currency.USD);
+        event.setId(10L);
+        box.setAssignedEvent(event);
+
+        List<BoxCurrency> boxCurrencies = List.of(new BoxCurrency(box, Currency.EUR, new BigDecimal("90.00")));
+        Map<Currency, BigDecimal> amounts = Map.of(Currency.EUR, new BigDecimal("90.00"));
+        ExchangeRateSnapshots.RateTable table = new ExchangeRateSnapshots.RateTable(7L, Currency.USD,
+                Map.of("EUR", new BigDecimal("0.9"), "GBP", new BigDecimal("0.8")), Instant.now());
+
+        when(boxRepository.findAssignedEventCurrencyById(boxId)).thenReturn(Optional.of(Currency.USD));
+        when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
+        when(boxCurrencyRepository.findByBoxForUpdate(box)).thenReturn(boxCurrencies);
+        when(rateSnapshots.latestFor(Currency.USD)).thenReturn(Optional.of(table));
+        when(rateSnapshots.convertAll(7L, amounts, Currency.USD)).thenReturn(new BigDecimal("100.00"));
+
+        // When
+        service.emptyBox(boxId);
+
+        // Then
+        verify(fundraisingEventRepository).addToBalance(10L, new BigDecimal("100.00"));
+        verify(boxTransferRepository).save(argThat(transfer -> transfer.getRateSnapshotId().equals(7L)
+                && transfer.getAmount().equals(new BigDecimal("100.00"))
+                && transfer.getCurrency() == Currency.USD));
+        verify(currencyConverter).loadRates(Currency.USD);
+        verify(currencyConverter, never()).convertAll(any(), any());
+        verify(currencyConverter, never()).convert(any(), any(), any());
+    }
+
+    @Test
+    void shouldEmptyAllBoxesOfEventWithOneConversionPerCurrency() {
+        // Given
+        FundraisingEvent event = new FundraisingEvent("Charity Run", Currency.USD);
+        event.setId(10L);
+        event.setBalance(new BigDecimal("100.00"));
+
+        Box first = new Box("BOX-001");
+        first.setId(1L);
+        Box second = new Box("BOX-002");
+        second.setId(2L);
+
+        List<BoxCurrency> boxCurrencies = Arrays.asList(
+                boxCurrency(11L, first, Currency.EUR, "10.00"),
+                boxCurrency(12L, second, Currency.EUR, "15.00"),
+                boxCurrency(13L, second, Currency.USD, "5.00"),
+                boxCurrency(14L, second, Currency.GBP, "0.00")
+        );
+
+        when(fundraisingEventRepository.findById(10L)).thenReturn(Optional.of(event));
+        when(boxCurrencyRepository.findByAssignedEventIdForUpdate(10L)).thenReturn(boxCurrencies);
+        Map<Currency, BigDecimal> totals = Map.of(
+                Currency.EUR, new BigDecimal("25.00"),
+                Currency.USD, new BigDecimal("5.00"));
+        when(currencyConverter.convertAll(totals, Currency.USD)).thenReturn(new BigDecimal("34.50"));
+        when(fundraisingEventRepository.findBalanceById(10L)).thenReturn(new BigDecimal("134.50"));
+
+        // When
+        EmptyBoxesResult result = service.emptyAllBoxes(10L);
+
+        // Then
+        assertEquals(2, result.getBoxesEmptied());
+        assertEquals(new BigDecimal("34.50"), result.getAmountTransferred());
+        assertEquals(new BigDecimal("134.50"), result.getBalance());
+
+        verify(currencyConverter, times(1)).convertAll(totals, Currency.USD);
+        verify(fundraisingEventRepository, times(1)).addToBalance(10L, new BigDecimal("34.50"));
+        verify(boxCurrencyRepository).deleteAllByIdInBatch(List.of(11L, 12L, 13L, 14L));
+        verify(boxRepository).adjustCurrencyCount(List.of(1L), -1);
+        verify(boxRepository).adjustCurrencyCount(List.of(2L), -2);
+    }
+
+    private static BoxCurrency boxCurrency(Long id, Box box, Currency currency, String amount) {
+        BoxCurrency boxCurrency = new BoxCurrency(box, currency, new BigDecimal(amount));
+        boxCurrency.setId(id);
+        return boxCurrency;
     }
 
     @Test
@@ -397,7 +536,7 @@ class BoxServiceTest {
         );
 
         when(boxRepository.findById(boxId)).thenReturn(Optional.of(box));
-        when(boxCurrencyRepository.findByBox(box)).thenReturn(emptyBoxCurrencies);
+        when(boxCurrencyRepository.findByBoxForUpdate(box)).thenReturn(emptyBoxCurrencies);
 
         // When & Then
         IllegalStateException exception = assertThrows(
@@ -407,25 +546,19 @@ class BoxServiceTest {
 
         assertEquals("Box is already empty", exception.getMessage());
         verify(boxRepository).findById(boxId);
-        verify(boxCurrencyRepository).findByBox(box);
-        verify(fundraisingEventRepository, never()).save(any());
+        verify(boxCurrencyRepository).findByBoxForUpdate(box);
+        verify(fundraisingEventRepository, never()).addToBalance(any(), any());
     }
 
     @Test
     void shouldGetAllBoxes() {
         // Given
-        List<Box> boxes = Arrays.asList(
-                new Box("BOX-001"),
-                new Box("BOX-002")
-        );
-
         List<BoxDto> expectedDtos = Arrays.asList(
                 new BoxDto(1L, "BOX-001", false, true),
                 new BoxDto(2L, "BOX-002", true, false)
         );
 
-        when(boxRepository.findAll()).thenReturn(boxes);
-        when(boxMapper.toDtoList(boxes)).thenReturn(expectedDtos);
+        when(boxRepository.findAllBoxSummaries()).thenReturn(expectedDtos);
 
         // When
         List<BoxDto> result = service.getAllBoxes();
@@ -436,7 +569,45 @@ class BoxServiceTest {
         assertEquals("BOX-001", result.get(0).getBoxIdentifier());
         assertEquals("BOX-002", result.get(1).getBoxIdentifier());
 
-        verify(boxRepository).findAll();
-        verify(boxMapper).toDtoList(boxes);
+        verify(boxRepository).findAllBoxSummaries();
+        verify(boxRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenPageIsFull() {
+        // Given
+        List<BoxDto> page = Arrays.asList(
+                new BoxDto(11L, "BOX-011", false, true),
+                new BoxDto(12L, "BOX-012", true, false)
+        );
+        when(boxRepository.findBoxSummariesAfter(10L, Limit.of(2))).thenReturn(page);
+
+        // When
+        BoxPage result = service.getBoxPage(10L, 2);
+
+        // Then
+        assertEquals(2, result.getBoxes().size());
+        assertEquals(12L, result.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnNoCursorOnLastPage() {
+        // Given
+        List<BoxDto> page = List.of(new BoxDto(1L, "BOX-001", false, true));
+        when(boxRepository.findBoxSummariesAfter(0L, Limit.of(100))).thenReturn(page);
+
+        // When
+        BoxPage result = service.getBoxPage(null, null);
+
+        // Then
+        assertEquals(1, result.getBoxes().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectPageSizeAboveMaximum() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.getBoxPage(null, 1001));
+        verify(boxRepository, never()).findBoxSummariesAfter(any(), any());
     }
-}
\ No newline at end of file
+}
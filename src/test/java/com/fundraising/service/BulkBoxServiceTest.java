@@ -0,0 +1,130 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BulkBoxResponse;
+import com.fundraising.dto.BulkBoxResult;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.enums.BulkRowStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BulkBoxService.class)
+class BulkBoxServiceTest {
+
+    @Autowired
+    private BulkBoxService service;
+
+    @Autowired
+    private BoxRepository boxRepository;
+
+    @Autowired
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldRegisterNewBoxesAndRejectDuplicates() {
+        // Given
+        Box existing = entityManager.persist(new Box("BOX-001"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        BulkBoxResponse response = service.registerBoxes(Arrays.asList("BOX-001", "BOX-002", " ", "BOX-002", null, "BOX-003"));
+        entityManager.flush();
+
+        // Then
+        assertEquals(2, response.getApplied());
+        assertEquals(4, response.getRejected());
+        List<BulkBoxResult> results = response.getResults();
+        assertResult(results.get(0), 1, BulkRowStatus.REJECTED, "Box with identifier 'BOX-001' already exists");
+        assertEquals(existing.getId(), results.get(0).getBoxId());
+        assertResult(results.get(1), 2, BulkRowStatus.APPLIED, null);
+        assertResult(results.get(2), 3, BulkRowStatus.REJECTED, "Box identifier is required");
+        assertResult(results.get(3), 4, BulkRowStatus.REJECTED, "Box identifier 'BOX-002' is listed more than once");
+        assertResult(results.get(4), 5, BulkRowStatus.REJECTED, "Box identifier is required");
+        assertResult(results.get(5), 6, BulkRowStatus.APPLIED, null);
+        assertEquals(results.get(1).getBoxId(), boxRepository.findByBoxIdentifier("BOX-002").orElseThrow().getId());
+        assertEquals(3, boxRepository.count());
+    }
+
+    @Test
+    void shouldRegisterBoxesWithConstantStatementCount() {
+        // Given
+        List<String> identifiers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            identifiers.add("BOX-" + i);
+        }
+        statistics.clear();
+
+        // When
+        BulkBoxResponse response = service.registerBoxes(identifiers);
+        entityManager.flush();
+
+        // Then - one duplicate check, two blocks of ids from boxes_seq and one batched insert
+        assertEquals(100, response.getApplied());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldUnregisterBoxesWithSetBasedDeletes() {
+        // Given
+        List<String> identifiers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Box box = entityManager.persist(new Box("BOX-" + i));
+            entityManager.persist(new BoxCurrency(box, Currency.USD, new BigDecimal("5.00")));
+            entityManager.persist(new BoxCurrency(box, Currency.EUR, new BigDecimal("1.00")));
+            identifiers.add(box.getBoxIdentifier());
+        }
+        Box kept = entityManager.persist(new Box("BOX-KEPT"));
+        entityManager.flush();
+        entityManager.clear();
+        identifiers.add("BOX-404");
+        statistics.clear();
+
+        // When
+        BulkBoxResponse response = service.unregisterBoxes(identifiers);
+
+        // Then - one lookup and one delete per table, however many boxes are unregistered
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(20, response.getApplied());
+        assertResult(response.getResults().get(20), 21, BulkRowStatus.REJECTED, "Box 'BOX-404' not found");
+        assertEquals(List.of(kept.getId()), boxRepository.findAll().stream().map(Box::getId).toList());
+        assertEquals(0, boxCurrencyRepository.count());
+    }
+
+    private void assertResult(BulkBoxResult result, int row, BulkRowStatus status, String error) {
+        assertEquals(row, result.getRow());
+        assertEquals(status, result.getStatus());
+        assertEquals(error, result.getError());
+    }
+}
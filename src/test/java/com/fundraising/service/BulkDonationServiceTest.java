@@ -0,0 +1,189 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BulkDonationResponse;
+import com.fundraising.dto.BulkDonationRow;
+import com.fundraising.entity.Box;
+import com.fundraising.entity.BoxCurrency;
+import com.fundraising.enums.BoxStatus;
+import com.fundraising.enums.BulkRowStatus;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.BoxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDonationServiceTest {
+
+    @Mock
+    private BoxRepository boxRepository;
+
+    @Mock
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BulkDonationService service;
+
+    private Box assignedBox;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkDonationService(boxRepository, boxCurrencyRepository,
+                new RetryingTransactionTemplate(transactionManager, 3, 0, 0), entityManager);
+        assignedBox = new Box("BOX-001");
+        assignedBox.setId(1L);
+        assignedBox.setStatus(BoxStatus.ASSIGNED);
+    }
+
+    @Test
+    void shouldMergeRowsAndUpdateExistingCurrencyOnce() {
+        // Given
+        BoxCurrency usd = new BoxCurrency(assignedBox, Currency.USD, new BigDecimal("10.00"));
+        when(boxRepository.findByBoxIdentifierIn(anyCollection())).thenReturn(List.of(assignedBox));
+        when(boxCurrencyRepository.findByBoxIdInForUpdate(anyCollection())).thenReturn(List.of(usd));
+
+        List<BulkDonationRow> rows = List.of(
+                new BulkDonationRow("BOX-001", Currency.USD, new BigDecimal("5.00")),
+                new BulkDonationRow("BOX-001", Currency.USD, new BigDecimal("2.50")),
+                new BulkDonationRow("BOX-001", Currency.EUR, new BigDecimal("1.00"))
+        );
+
+        // When
+        BulkDonationResponse response = service.addDonations(rows);
+
+        // Then
+        assertEquals(3, response.getApplied());
+        assertEquals(0, response.getRejected());
+        assertEquals(new BigDecimal("17.50"), usd.getAmount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BoxCurrency>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(boxCurrencyRepository).saveAllAndFlush(inserts.capture());
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(Currency.EUR, inserts.getValue().get(0).getCurrency());
+        verify(boxRepository).adjustCurrencyCount(List.of(1L), 1);
+        verify(boxRepository, times(1)).findByBoxIdentifierIn(anyCollection());
+    }
+
+    @Test
+    void shouldRejectInvalidRowsAndKeepValidOnes() {
+        // Given
+        Box availableBox = new Box("BOX-002");
+        availableBox.setId(2L);
+        when(boxRepository.findByBoxIdentifierIn(anyCollection())).thenReturn(List.of(assignedBox, availableBox));
+        when(boxCurrencyRepository.findByBoxIdInForUpdate(anyCollection())).thenReturn(List.of());
+
+        String csv = """
+                boxIdentifier,currency,amount
+                BOX-001,GBP,4.00
+                BOX-002,USD,1.00
+                BOX-404,USD,1.00
+                BOX-001,XYZ,1.00
+                BOX-001,USD,0
+                """;
+
+        // When
+        BulkDonationResponse response = service.addDonationsFromCsv(csv);
+
+        // Then
+        assertEquals(1, response.getApplied());
+        assertEquals(4, response.getRejected());
+        assertEquals(BulkRowStatus.APPLIED, response.getResults().get(0).getStatus());
+        assertEquals("Box must be assigned to a fundraising event before adding money",
+                response.getResults().get(1).getError());
+        assertEquals("Box 'BOX-404' not found", response.getResults().get(2).getError());
+        assertEquals("Unknown currency 'XYZ'", response.getResults().get(3).getError());
+        assertEquals("Amount must be greater than 0", response.getResults().get(4).getError());
+        assertEquals(5, response.getResults().get(4).getRow());
+    }
+
+    @Test
+    void shouldRetryAndAddToRowCreatedByConcurrentDonation() {
+        // Given - the first attempt finds no EUR row, but a single donation inserts it before the flush
+        BoxCurrency concurrentEur = new BoxCurrency(assignedBox, Currency.EUR, new BigDecimal("3.00"));
+        when(boxRepository.findByBoxIdentifierIn(anyCollection())).thenReturn(List.of(assignedBox));
+        when(boxCurrencyRepository.findByBoxIdInForUpdate(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(concurrentEur));
+        when(boxCurrencyRepository.saveAllAndFlush(anyCollection()))
+                .thenThrow(new DataIntegrityViolationException("uk_box_currencies_box_currency"))
+                .thenReturn(List.of());
+
+        // When
+        BulkDonationResponse response = service.addDonations(
+                List.of(new BulkDonationRow("BOX-001", Currency.EUR, new BigDecimal("2.00"))));
+
+        // Then
+        assertEquals(1, response.getApplied());
+        assertEquals(new BigDecimal("5.00"), concurrentEur.getAmount());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BoxCurrency>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(boxCurrencyRepository, times(2)).saveAllAndFlush(inserts.capture());
+        assertTrue(inserts.getAllValues().get(1).isEmpty());
+        verify(boxRepository, never()).adjustCurrencyCount(anyCollection(), anyInt());
+    }
+
+    @Test
+    void shouldLookUpBoxesInChunks() {
+        // Given - 2,500 distinct assigned boxes, all still empty
+        List<BulkDonationRow> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new BulkDonationRow("BOX-" + i, Currency.USD, BigDecimal.ONE));
+        }
+        when(boxRepository.findByBoxIdentifierIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> identifiers = invocation.getArgument(0);
+            return identifiers.stream().map(identifier -> {
+                Box box = new Box(identifier);
+                box.setId(Long.parseLong(identifier.substring(4)));
+                box.setStatus(BoxStatus.ASSIGNED);
+                return box;
+            }).toList();
+        });
+        when(boxCurrencyRepository.findByBoxIdInForUpdate(anyCollection())).thenReturn(List.of());
+
+        // When
+        BulkDonationResponse response = service.addDonations(rows);
+
+        // Then
+        assertEquals(2500, response.getApplied());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(boxRepository, times(3)).findByBoxIdentifierIn(lookups.capture());
+        assertTrue(lookups.getAllValues().stream().allMatch(chunk -> chunk.size() <= BulkDonationService.LOOKUP_CHUNK_SIZE));
+        verify(boxCurrencyRepository, times(3)).findByBoxIdInForUpdate(anyCollection());
+        verify(boxRepository, times(3)).adjustCurrencyCount(anyCollection(), eq(1));
+    }
+
+    @Test
+    void shouldNotTouchDatabaseWhenEveryRowIsInvalid() {
+        // When
+        BulkDonationResponse response = service.addDonations(List.of(new BulkDonationRow(" ", Currency.USD, BigDecimal.ONE)));
+
+        // Then
+        assertEquals(1, response.getRejected());
+        verify(boxRepository, never()).findByBoxIdentifierIn(anyCollection());
+        verify(boxCurrencyRepository, never()).saveAllAndFlush(any());
+    }
+}
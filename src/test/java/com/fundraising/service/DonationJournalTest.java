@@ -0,0 +1,85 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import com.fundraising.enums.Currency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonationJournalTest {
+
+    private static final int THREADS = 8;
+    private static final int APPENDS_PER_THREAD = 200;
+
+    @TempDir
+    private Path journalDir;
+
+    @Test
+    void shouldKeepEveryLineOfConcurrentGroupCommittedAppends() throws Exception {
+        // Given
+        DonationJournal journal = new DonationJournal(journalDir, true);
+        journal.open();
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long boxId = t;
+            writers.add(() -> {
+                for (int i = 0; i < APPENDS_PER_THREAD; i++) {
+                    journal.append(boxId, Currency.USD, new BigDecimal("0.01"));
+                }
+                return null;
+            });
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> writer : executor.invokeAll(writers)) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Path sealed = journal.rotate();
+        journal.close();
+
+        // Then
+        List<BoxCurrencyDelta> deltas = DonationJournal.read(sealed);
+        assertEquals(THREADS * APPENDS_PER_THREAD, deltas.size());
+        for (long boxId = 0; boxId < THREADS; boxId++) {
+            long id = boxId;
+            assertEquals(APPENDS_PER_THREAD, deltas.stream().filter(delta -> delta.getBoxId() == id).count());
+        }
+    }
+
+    @Test
+    void shouldStartNewSegmentOnRotateAndSkipEmptyOnes() throws IOException {
+        // Given
+        DonationJournal journal = new DonationJournal(journalDir, true);
+        journal.open();
+        journal.append(1L, Currency.EUR, new BigDecimal("5.00"));
+
+        // When
+        Path first = journal.rotate();
+        Path empty = journal.rotate();
+        journal.append(2L, Currency.GBP, new BigDecimal("1.00"));
+        Path second = journal.rotate();
+        journal.close();
+
+        // Then
+        assertNull(empty);
+        assertNotEquals(first, second);
+        assertEquals(1L, DonationJournal.read(first).get(0).getBoxId());
+        assertEquals(2L, DonationJournal.read(second).get(0).getBoxId());
+    }
+}
@@ -0,0 +1,215 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.BoxCurrencyDelta;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxCurrencyRepository;
+import com.fundraising.repository.DonationJournalSegmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DonationLedgerTest {
+
+    private static final long NO_SCHEDULED_FLUSH = 3_600_000;
+
+    @Mock
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Mock
+    private DonationJournalSegmentRepository segmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path journalDir;
+
+    private DonationLedger ledger;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (ledger != null) {
+            ledger.shutdown();
+        }
+    }
+
+    @Test
+    void shouldMergeDepositsPerBoxAndCurrencyAndFlushThemInOneBatch() throws IOException {
+        // Given
+        ledger = newLedger();
+        ledger.deposit(1L, Currency.USD, new BigDecimal("10.00"));
+        ledger.deposit(1L, Currency.USD, new BigDecimal("5.50"));
+        ledger.deposit(1L, Currency.EUR, new BigDecimal("2.00"));
+        ledger.deposit(2L, Currency.USD, new BigDecimal("1.00"));
+
+        assertTrue(ledger.hasPendingDeposits(1L));
+        assertFalse(ledger.hasPendingDeposits(3L));
+
+        // When
+        ledger.flush();
+
+        // Then
+        Map<String, BigDecimal> applied = captureAppliedDeltas(1).get(0);
+        assertEquals(3, applied.size());
+        assertEquals(new BigDecimal("15.50"), applied.get("1-USD"));
+        assertEquals(new BigDecimal("2.00"), applied.get("1-EUR"));
+        assertEquals(new BigDecimal("1.00"), applied.get("2-USD"));
+
+        assertFalse(ledger.hasPendingDeposits(1L));
+        verify(segmentRepository).saveAll(anyCollection());
+        assertEquals(1, journalSegments().size(), "Only the fresh, empty segment should remain");
+    }
+
+    @Test
+    void shouldKeepSegmentUntilDatabaseIsCheckpointed() throws IOException {
+        // Given
+        ledger = newLedger();
+        ledger.deposit(1L, Currency.USD, new BigDecimal("10.00"));
+        doThrow(new IllegalStateException("disk full")).when(segmentRepository).checkpointDatabase();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> ledger.flush());
+
+        // Then - the committed deltas may not be on disk yet, so their segment is kept for replay
+        captureAppliedDeltas(1);
+        assertEquals(2, journalSegments().size());
+    }
+
+    @Test
+    void shouldKeepDeltasWhenFlushFails() throws IOException {
+        // Given
+        ledger = newLedger();
+        ledger.deposit(1L, Currency.GBP, new BigDecimal("3.00"));
+        when(boxCurrencyRepository.applyDeltas(anyCollection()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> ledger.flush());
+        ledger.deposit(1L, Currency.GBP, new BigDecimal("4.00"));
+        ledger.flush();
+
+        // Then
+        List<Map<String, BigDecimal>> attempts = captureAppliedDeltas(2);
+        assertEquals(new BigDecimal("7.00"), attempts.get(1).get("1-GBP"));
+        assertEquals(1, journalSegments().size());
+    }
+
+    @Test
+    void shouldKeepDeltasWhenJournalCannotRotate() throws IOException {
+        // Given - the journal directory disappears, so no new segment can be opened
+        ledger = newLedger();
+        ledger.deposit(1L, Currency.USD, new BigDecimal("8.00"));
+        for (Path segment : journalSegments()) {
+            Files.delete(segment);
+        }
+        Files.delete(journalDir);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> ledger.flush());
+
+        // Then
+        assertTrue(ledger.hasPendingDeposits(1L));
+        verify(boxCurrencyRepository, never()).applyDeltas(anyCollection());
+
+        Files.createDirectories(journalDir);
+        ledger.flush();
+        assertEquals(new BigDecimal("8.00"), captureAppliedDeltas(1).get(0).get("1-USD"));
+    }
+
+    @Test
+    void shouldReportDepositsOfRunningFlushAsPending() throws Exception {
+        // Given - a flush that has drained the deposit and waits inside its transaction
+        ledger = newLedger();
+        ledger.deposit(1L, Currency.EUR, new BigDecimal("4.00"));
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(boxCurrencyRepository.applyDeltas(anyCollection())).thenAnswer(invocation -> {
+            applying.countDown();
+            commit.await();
+            return 1;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = executor.submit(() -> ledger.flush());
+            assertTrue(applying.await(5, TimeUnit.SECONDS));
+
+            // When
+            boolean pendingWhileApplying = ledger.hasPendingDeposits(1L);
+            commit.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertTrue(pendingWhileApplying);
+            assertFalse(ledger.hasPendingDeposits(1L));
+        } finally {
+            commit.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReplayUnflushedJournalAfterCrash() throws IOException {
+        // Given - a ledger that accepted donations and stopped without flushing
+        DonationLedger crashed = newLedger();
+        crashed.deposit(7L, Currency.EUR, new BigDecimal("20.00"));
+        crashed.deposit(7L, Currency.EUR, new BigDecimal("0.01"));
+        when(segmentRepository.findAllById(any())).thenReturn(List.of());
+
+        // When
+        ledger = newLedger();
+
+        // Then
+        Map<String, BigDecimal> replayed = captureAppliedDeltas(1).get(0);
+        assertEquals(new BigDecimal("20.01"), replayed.get("7-EUR"));
+        assertEquals(1, journalSegments().size(), "Only the new ledger's open segment should remain");
+    }
+
+    private DonationLedger newLedger() throws IOException {
+        return new DonationLedger(boxCurrencyRepository, segmentRepository, transactionManager,
+                journalDir, false, NO_SCHEDULED_FLUSH, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, BigDecimal>> captureAppliedDeltas(int times) {
+        ArgumentCaptor<Collection<BoxCurrencyDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(boxCurrencyRepository, times(times)).applyDeltas(captor.capture());
+        return captor.getAllValues().stream()
+                .map(deltas -> deltas.stream().collect(Collectors.toMap(
+                        delta -> delta.getBoxId() + "-" + delta.getCurrency(),
+                        BoxCurrencyDelta::getAmount)))
+                .toList();
+    }
+
+    private List<Path> journalSegments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.toList();
+        }
+    }
+}
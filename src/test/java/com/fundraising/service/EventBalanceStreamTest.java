@@ -0,0 +1,74 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.FundraisingEventBalance;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.FundraisingEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventBalanceStreamTest {
+
+    @Mock
+    private FundraisingEventRepository repository;
+
+    private EventLeaderboard leaderboard;
+    private EventBalanceStream stream;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new EventLeaderboard(repository, new CurrencyConversionService(), Currency.USD);
+        stream = new EventBalanceStream(leaderboard, Duration.ofSeconds(1), Duration.ofHours(1));
+        when(repository.findAllCurrentBalances()).thenReturn(List.of(
+                balance(1L, "10.00", 1), balance(2L, "5.00", 1)));
+    }
+
+    @Test
+    void shouldSendCurrentBalanceThenCoalescedUpdates() throws Exception {
+        // Given
+        CompletableFuture<List<ServerSentEvent<FundraisingEventDTO>>> received = stream.subscribe(1L).orElseThrow()
+                .take(2)
+                .collectList()
+                .toFuture();
+
+        // When - three transfers into event 1 and one into event 2 within one interval
+        for (int version = 2; version <= 4; version++) {
+            when(repository.findCurrentBalanceById(1L)).thenReturn(Optional.of(balance(1L, version + "0.00", version)));
+            leaderboard.onEventChanged(new FundraisingEventChanged(1L));
+        }
+        when(repository.findCurrentBalanceById(2L)).thenReturn(Optional.of(balance(2L, "99.00", 2)));
+        leaderboard.onEventChanged(new FundraisingEventChanged(2L));
+
+        // Then
+        List<ServerSentEvent<FundraisingEventDTO>> events = received.get(5, TimeUnit.SECONDS);
+        assertEquals("balance", events.get(0).event());
+        assertEquals(new BigDecimal("10.00"), events.get(0).data().getBalance());
+        assertEquals(new BigDecimal("40.00"), events.get(1).data().getBalance());
+        assertEquals(1L, events.get(1).data().getId());
+    }
+
+    @Test
+    void shouldNotStreamUnknownEvent() {
+        // When & Then
+        assertTrue(stream.subscribe(404L).isEmpty());
+    }
+
+    private static FundraisingEventBalance balance(Long id, String amount, long version) {
+        return new FundraisingEventBalance(id, "Event " + id, new BigDecimal(amount), Currency.USD, version);
+    }
+}
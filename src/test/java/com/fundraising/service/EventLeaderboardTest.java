@@ -0,0 +1,95 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.FundraisingEventBalance;
+import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.FundraisingEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventLeaderboardTest {
+
+    @Mock
+    private FundraisingEventRepository repository;
+
+    private EventLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new EventLeaderboard(repository, new CurrencyConversionService(), Currency.USD);
+    }
+
+    @Test
+    void shouldRankEventsByBalanceInRankingCurrency() {
+        // Given - 100 GBP is 133 USD, more than 120 USD
+        when(repository.findAllCurrentBalances()).thenReturn(List.of(
+                event(1L, "Charity Run", Currency.USD, "120.00", 1),
+                event(2L, "Gala", Currency.GBP, "100.00", 1),
+                event(3L, "Bake Sale", Currency.EUR, "10.00", 1)
+        ));
+
+        // When
+        EventLeaderboard.Snapshot snapshot = leaderboard.snapshot();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), ids(snapshot.events()));
+        assertEquals(List.of(2L, 1L, 3L), ids(snapshot.ranking()));
+        assertEquals(List.of(2L, 1L), ids(snapshot.top(2)));
+        assertEquals(3, snapshot.top(50).size());
+        assertSame(snapshot, leaderboard.snapshot());
+        verify(repository, times(1)).findAllCurrentBalances();
+    }
+
+    @Test
+    void shouldApplyChangesOnlyWhenEventVersionIsNewer() {
+        // Given
+        when(repository.findAllCurrentBalances()).thenReturn(List.of(event(1L, "Charity Run", Currency.USD, "10.00", 1)));
+        EventLeaderboard.Snapshot initial = leaderboard.snapshot();
+
+        // When - a newer balance arrives, then an older one that lost the race
+        when(repository.findCurrentBalanceById(1L)).thenReturn(Optional.of(event(1L, "Charity Run", Currency.USD, "30.00", 3)));
+        leaderboard.onEventChanged(new FundraisingEventChanged(1L));
+        EventLeaderboard.Snapshot updated = leaderboard.snapshot();
+
+        when(repository.findCurrentBalanceById(1L)).thenReturn(Optional.of(event(1L, "Charity Run", Currency.USD, "20.00", 2)));
+        leaderboard.onEventChanged(new FundraisingEventChanged(1L));
+
+        // Then
+        assertNotEquals(initial.etag(), updated.etag());
+        assertSame(updated, leaderboard.snapshot());
+        assertEquals(new BigDecimal("30.00"), leaderboard.snapshot().events().get(0).getBalance());
+    }
+
+    @Test
+    void shouldKeepEtagWhenResyncFindsNoChanges() {
+        // Given
+        FundraisingEventBalance event = event(1L, "Charity Run", Currency.USD, "10.00", 1);
+        when(repository.findAllCurrentBalances()).thenReturn(List.of(event));
+        String etag = leaderboard.snapshot().etag();
+
+        // When
+        leaderboard.resync();
+
+        // Then
+        assertEquals(etag, leaderboard.snapshot().etag());
+    }
+
+    private static FundraisingEventBalance event(Long id, String name, Currency currency, String balance, long version) {
+        return new FundraisingEventBalance(id, name, new BigDecimal(balance), currency, version);
+    }
+
+    private static List<Long> ids(List<FundraisingEventDTO> events) {
+        return events.stream().map(FundraisingEventDTO::getId).toList();
+    }
+}
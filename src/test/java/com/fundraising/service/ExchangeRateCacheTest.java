@@ -0,0 +1,166 @@
+package com.fundraising.service;
+
+import com.fundraising.enums.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(1);
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock();
+    private final List<CompletableFuture<Map<String, BigDecimal>>> loads = new ArrayList<>();
+
+    private final ExchangeRateCache cache = new ExchangeRateCache(base -> {
+        CompletableFuture<Map<String, BigDecimal>> load = new CompletableFuture<>();
+        synchronized (loads) {
+            loads.add(load);
+        }
+        return load;
+    }, TTL, REFRESH_AHEAD, STALE_WHILE_REVALIDATE, Duration.ofMillis(50), Duration.ofSeconds(5), clock);
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneLoad() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Map<String, BigDecimal>>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.getRates(Currency.USD)));
+            }
+            awaitLoads(1);
+            Thread.sleep(50);
+            loads.get(0).complete(Map.of("EUR", new BigDecimal("0.90")));
+            for (Future<Map<String, BigDecimal>> result : results) {
+                assertEquals(new BigDecimal("0.90"), result.get().get("EUR"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void shouldRefreshAheadOfExpiryInBackground() {
+        // Given
+        primeCache("0.90");
+
+        // When - a fresh hit does not reload, a hit close to expiry does but is served from the cache
+        clock.advance(TTL.minus(REFRESH_AHEAD).minusSeconds(1));
+        assertEquals(new BigDecimal("0.90"), cache.getRates(Currency.USD).get("EUR"));
+        assertEquals(1, loads.size());
+
+        clock.advance(Duration.ofSeconds(2));
+        assertEquals(new BigDecimal("0.90"), cache.getRates(Currency.USD).get("EUR"));
+        cache.getRates(Currency.USD);
+
+        // Then
+        assertEquals(2, loads.size(), "Hits during a reload should not start another one");
+        loads.get(1).complete(Map.of("EUR", new BigDecimal("0.95")));
+        assertEquals(new BigDecimal("0.95"), cache.getRates(Currency.USD).get("EUR"));
+    }
+
+    @Test
+    void shouldServeStaleRatesWhenReloadIsSlowOrFails() {
+        // Given
+        primeCache("0.90");
+        clock.advance(TTL.plusMinutes(5));
+
+        // When - the reload does not answer within the stale wait
+        Map<String, BigDecimal> slow = cache.getRates(Currency.USD);
+        loads.get(1).completeExceptionally(new IllegalStateException("upstream down"));
+        Map<String, BigDecimal> failed = cache.getRates(Currency.USD);
+
+        // Then
+        assertEquals(new BigDecimal("0.90"), slow.get("EUR"));
+        assertEquals(new BigDecimal("0.90"), failed.get("EUR"));
+        assertEquals(3, loads.size());
+    }
+
+    @Test
+    void shouldCompleteAsyncLookupWithoutWaitingForLoad() {
+        // When
+        CompletableFuture<Map<String, BigDecimal>> rates = cache.getRatesAsync(Currency.USD);
+
+        // Then
+        assertFalse(rates.isDone());
+        loads.get(0).complete(Map.of("EUR", new BigDecimal("0.90")));
+        assertEquals(new BigDecimal("0.90"), rates.join().get("EUR"));
+        assertEquals(new BigDecimal("0.90"), cache.getRatesAsync(Currency.USD).getNow(null).get("EUR"));
+    }
+
+    @Test
+    void shouldFailWhenNothingIsCachedAndLoadFails() {
+        // Given
+        ExchangeRateCache failing = new ExchangeRateCache(
+                base -> CompletableFuture.failedFuture(new IllegalStateException("upstream down")),
+                TTL, REFRESH_AHEAD, STALE_WHILE_REVALIDATE, Duration.ofMillis(50), Duration.ofSeconds(5), clock);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> failing.getRates(Currency.EUR));
+        assertTrue(exception.getMessage().contains("upstream down"));
+    }
+
+    private void primeCache(String eurRate) {
+        CompletableFuture.runAsync(() -> {
+            awaitLoads(1);
+            loads.get(0).complete(Map.of("EUR", new BigDecimal(eurRate)));
+        });
+        cache.getRates(Currency.USD);
+    }
+
+    private void awaitLoads(int count) {
+        while (true) {
+            synchronized (loads) {
+                if (loads.size() >= count) {
+                    return;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fundraising.service;
+
+import com.fundraising.service.ExchangeRateCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateCircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(20);
+    private static final Duration SLOW = Duration.ofSeconds(2);
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExchangeRateCircuitBreaker breaker = new ExchangeRateCircuitBreaker(
+            10, 4, 50, Duration.ofSeconds(1), 75, Duration.ofSeconds(30), 2, meterRegistry, clock);
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        // When
+        call(FAST, false);
+        call(FAST, true);
+        call(FAST, false);
+        assertEquals(State.CLOSED, breaker.getState(), "Below the minimum number of calls");
+        call(FAST, true);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1.0, meterRegistry.get("currency.api.circuit.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("currency.api.circuit.state").gauge().value());
+    }
+
+    @Test
+    void shouldOpenWhenSlowCallRateReachesThreshold() {
+        // When
+        call(SLOW, false);
+        call(SLOW, false);
+        call(FAST, false);
+        call(SLOW, false);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbes() {
+        // Given
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+
+        // When
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "Only the configured number of probes may pass");
+        breaker.onResult(FAST, false);
+        breaker.onResult(FAST, false);
+
+        // Then
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(1.0, meterRegistry.get("currency.api.circuit.transitions")
+                .tags("from", "HALF_OPEN", "to", "CLOSED").counter().count());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        // Given
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+
+        // When
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onResult(SLOW, false);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(FAST, true);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    private void call(Duration duration, boolean failed) {
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(duration, failed);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
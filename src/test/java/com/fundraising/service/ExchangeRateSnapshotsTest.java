@@ -0,0 +1,97 @@
+package com.fundraising.service;
+
+import com.fundraising.entity.ExchangeRateSnapshot;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.ExchangeRateSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ExchangeRateSnapshotsTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Autowired
+    private ExchangeRateSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldLoadLatestSnapshotOfEachBaseAtStartup() {
+        // Given
+        entityManager.persist(new ExchangeRateSnapshot(Currency.USD, NOW.minusSeconds(600), usdRates("0.90", "0.80")));
+        ExchangeRateSnapshot latestUsd = entityManager.persist(
+                new ExchangeRateSnapshot(Currency.USD, NOW, usdRates("0.92", "0.79")));
+        ExchangeRateSnapshot latestEur = entityManager.persist(new ExchangeRateSnapshot(Currency.EUR, NOW.minusSeconds(60),
+                Map.of("USD", new BigDecimal("1.09"), "GBP", new BigDecimal("0.86"))));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ExchangeRateSnapshots snapshots = new ExchangeRateSnapshots(snapshotRepository);
+        snapshots.loadLatest();
+
+        // Then
+        assertEquals(2, snapshots.latest().size());
+        assertEquals(latestUsd.getId(), snapshots.latestFor(Currency.USD).orElseThrow().snapshotId());
+        assertEquals(0, new BigDecimal("0.92").compareTo(snapshots.latestFor(Currency.USD).orElseThrow().rates().get("EUR")));
+        assertEquals(latestEur.getId(), snapshots.latestFor(Currency.EUR).orElseThrow().snapshotId());
+        // No GBP table: the most recent table of another base is crossed
+        assertEquals(latestUsd.getId(), snapshots.latestFor(Currency.GBP).orElseThrow().snapshotId());
+    }
+
+    @Test
+    void shouldConvertWithRecordedSnapshotEvenAfterNewerOne() {
+        // Given
+        ExchangeRateSnapshots snapshots = new ExchangeRateSnapshots(snapshotRepository);
+        Long first = snapshots.record(Currency.USD, usdRates("0.90", "0.80"), NOW.minusSeconds(600))
+                .orElseThrow().snapshotId();
+        Long second = snapshots.record(Currency.USD, usdRates("0.80", "0.50"), NOW)
+                .orElseThrow().snapshotId();
+        entityManager.flush();
+        entityManager.clear();
+        Map<Currency, BigDecimal> amounts = Map.of(
+                Currency.EUR, new BigDecimal("90.00"),
+                Currency.GBP, new BigDecimal("80.00"),
+                Currency.USD, new BigDecimal("5.00"));
+
+        // When
+        BigDecimal withFirst = snapshots.convertAll(first, amounts, Currency.USD);
+        BigDecimal withSecond = snapshots.convertAll(second, amounts, Currency.USD);
+        BigDecimal crossed = snapshots.convertAll(first, Map.of(Currency.GBP, new BigDecimal("80.00")), Currency.EUR);
+
+        // Then - 90 / 0.9 + 80 / 0.8 + 5, and 80 GBP * 0.9 / 0.8 through USD
+        assertEquals(new BigDecimal("205.00"), withFirst);
+        assertEquals(new BigDecimal("277.50"), withSecond);
+        assertEquals(new BigDecimal("90.00"), crossed);
+        assertEquals(second, snapshots.latestFor(Currency.USD).orElseThrow().snapshotId());
+    }
+
+    @Test
+    void shouldSkipTablesWithoutAllSupportedCurrencies() {
+        // Given
+        ExchangeRateSnapshots snapshots = new ExchangeRateSnapshots(snapshotRepository);
+
+        // When
+        var recorded = snapshots.record(Currency.USD, Map.of("EUR", new BigDecimal("0.90"), "JPY", new BigDecimal("150")), NOW);
+
+        // Then
+        assertTrue(recorded.isEmpty());
+        assertEquals(0, snapshotRepository.count());
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshots.convertAll(999L, Map.of(Currency.EUR, BigDecimal.TEN), Currency.USD));
+    }
+
+    private static Map<String, BigDecimal> usdRates(String eur, String gbp) {
+        return Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal(eur), "GBP", new BigDecimal(gbp), "JPY", new BigDecimal("150"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.fundraising.service;
+
+import com.fundraising.enums.Currency;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the converter against a stub exchange rate API on a local port.
+ */
+class ExternalApiCurrencyConverterTest {
+
+    private static final String USD_RATES = "{\"base\":\"USD\",\"date\":\"2025-01-01\",\"rates\":{\"USD\":1,\"EUR\":0.9,\"GBP\":0.8}}";
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExchangeRateSnapshots rateSnapshots = mock(ExchangeRateSnapshots.class);
+    private ExchangeRateCircuitBreaker circuitBreaker;
+    private ExternalApiCurrencyConverter converter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/latest/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = USD_RATES.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        circuitBreaker = new ExchangeRateCircuitBreaker(10, 3, 50, Duration.ofSeconds(1), 50,
+                Duration.ofMinutes(1), 1, meterRegistry);
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/latest/";
+        converter = newConverter();
+    }
+
+    private ExternalApiCurrencyConverter newConverter() {
+        return new ExternalApiCurrencyConverter(WebClient.builder(), new CurrencyConversionService(), baseUrl,
+                Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofMinutes(10), Duration.ofMinutes(1),
+                Duration.ofHours(1), Duration.ofMillis(250), circuitBreaker, rateSnapshots, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldFetchRateTableOncePerBaseCurrency() {
+        // When
+        BigDecimal euros = converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.EUR);
+        BigDecimal pounds = converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.GBP);
+        BigDecimal moreEuros = converter.convert(new BigDecimal("10.00"), Currency.USD, Currency.EUR);
+
+        // Then
+        assertEquals(new BigDecimal("90.00"), euros);
+        assertEquals(new BigDecimal("80.00"), pounds);
+        assertEquals(new BigDecimal("9.00"), moreEuros);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void shouldRecordEveryFetchedTableAsSnapshot() {
+        // When
+        converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.EUR);
+
+        // Then
+        verify(rateSnapshots, timeout(1000)).record(eq(Currency.USD),
+                eq(Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.9"), "GBP", new BigDecimal("0.8"))), any());
+    }
+
+    @Test
+    void shouldStartWithLatestSnapshotsWithoutCallingApi() {
+        // Given
+        when(rateSnapshots.latest()).thenReturn(List.of(new ExchangeRateSnapshots.RateTable(1L, Currency.EUR,
+                Map.of("USD", new BigDecimal("1.10"), "GBP", new BigDecimal("0.85")), Instant.now())));
+        ExternalApiCurrencyConverter restarted = newConverter();
+
+        // When
+        BigDecimal dollars = restarted.convert(new BigDecimal("100.00"), Currency.EUR, Currency.USD);
+
+        // Then
+        assertEquals(new BigDecimal("110.00"), dollars);
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void shouldFallBackToStaticRatesWhenApiFails() {
+        // Given
+        status = 503;
+
+        // When
+        BigDecimal result = converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.EUR);
+
+        // Then
+        assertEquals(new BigDecimal("85.00"), result);
+        assertEquals(1, requests.get());
+        assertEquals(1.0, meterRegistry.get("currency.conversions.fallback").counter().count());
+    }
+
+    @Test
+    void shouldConvertAsynchronouslyWithSameCacheAndFallback() {
+        // When
+        BigDecimal euros = converter.convertAsync(new BigDecimal("100.00"), Currency.USD, Currency.EUR).join();
+        BigDecimal pounds = converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.GBP);
+        status = 503;
+        BigDecimal fallback = converter.convertAsync(new BigDecimal("100.00"), Currency.EUR, Currency.USD).join();
+
+        // Then
+        assertEquals(new BigDecimal("90.00"), euros);
+        assertEquals(new BigDecimal("80.00"), pounds);
+        assertEquals(new BigDecimal("118.00"), fallback);
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.get("currency.conversions.fallback").counter().count());
+    }
+
+    @Test
+    void shouldConvertAllCurrenciesWithOneRateTableOfTargetCurrency() {
+        // Given
+        Map<Currency, BigDecimal> amounts = new EnumMap<>(Currency.class);
+        amounts.put(Currency.EUR, new BigDecimal("100.00"));
+        amounts.put(Currency.GBP, new BigDecimal("100.00"));
+        amounts.put(Currency.USD, new BigDecimal("10.00"));
+
+        // When
+        BigDecimal total = converter.convertAll(amounts, Currency.USD);
+
+        // Then - 100 / 0.9 + 100 / 0.8 + 10, from the USD table alone
+        assertEquals(new BigDecimal("246.11"), total);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void shouldStopCallingApiOnceCircuitIsOpen() {
+        // Given
+        status = 503;
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new BigDecimal("85.00"), converter.convert(new BigDecimal("100.00"), Currency.USD, Currency.EUR));
+        }
+
+        // Then
+        assertEquals(3, requests.get(), "Calls after the circuit opened should fall back without reaching the API");
+        assertEquals(ExchangeRateCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(7.0, meterRegistry.get("currency.api.circuit.rejected").counter().count());
+    }
+}
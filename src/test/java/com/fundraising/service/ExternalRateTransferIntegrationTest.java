@@ -0,0 +1,141 @@
+package com.fundraising.service;
+
+import com.fundraising.dto.AddMoneyRequest;
+import com.fundraising.dto.BoxDto;
+import com.fundraising.dto.CreateBoxRequest;
+import com.fundraising.entity.BoxTransfer;
+import com.fundraising.entity.ExchangeRateSnapshot;
+import com.fundraising.entity.FundraisingEvent;
+import com.fundraising.enums.Currency;
+import com.fundraising.repository.BoxTransferRepository;
+import com.fundraising.repository.ExchangeRateSnapshotRepository;
+import com.fundraising.repository.FundraisingEventRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Empties boxes with the external rate converter selected for transfers, against a stub
+ * exchange rate API on a local port and a database of its own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:external-rates",
+                "spring.jpa.show-sql=false",
+                "currency.transfers.converter=externalApiCurrencyConverter"
+        })
+class ExternalRateTransferIntegrationTest {
+
+    // Deliberately different from the static rates (EUR 1.18 and GBP 1.33 to the dollar)
+    private static final String USD_RATES = "{\"base\":\"USD\",\"date\":\"2025-01-01\",\"rates\":{\"USD\":1,\"EUR\":0.8,\"GBP\":0.5}}";
+    private static final String GBP_RATES = "{\"base\":\"GBP\",\"date\":\"2025-01-01\",\"rates\":{\"GBP\":1,\"USD\":2,\"EUR\":1.6}}";
+
+    private static final List<String> requests = new CopyOnWriteArrayList<>();
+    private static final HttpServer upstream = startUpstream();
+
+    @Autowired
+    private BoxService boxService;
+
+    @Autowired
+    private FundraisingEventRepository fundraisingEventRepository;
+
+    @Autowired
+    private BoxTransferRepository boxTransferRepository;
+
+    @Autowired
+    private ExchangeRateSnapshotRepository snapshotRepository;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("currency.external-api.base-url",
+                () -> "http://127.0.0.1:" + upstream.getAddress().getPort() + "/latest/");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        requests.clear();
+    }
+
+    @Test
+    void shouldConvertAllCurrenciesOfBoxWithOneRateTableRequest() {
+        // Given
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("External Rates", Currency.USD));
+        BoxDto box = boxWithMoney("EXTERNAL-001", event);
+
+        // When
+        boxService.emptyBox(box.getId());
+
+        // Then - 100 EUR at 0.8 and 50 GBP at 0.5 to the dollar, from the USD table alone
+        assertEquals(List.of("/latest/USD"), requests);
+        BigDecimal balance = fundraisingEventRepository.findById(event.getId()).orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal("225.00").compareTo(balance), "Balance was " + balance);
+    }
+
+    @Test
+    void shouldRecordRateSnapshotTransferWasConvertedWith() {
+        // Given
+        FundraisingEvent event = fundraisingEventRepository.save(new FundraisingEvent("Snapshot Rates", Currency.GBP));
+        BoxDto box = boxWithMoney("EXTERNAL-002", event);
+
+        // When
+        boxService.emptyBox(box.getId());
+
+        // Then - the transfer references the GBP table it was converted with: 100 EUR at 1.6 plus 50 GBP
+        List<BoxTransfer> transfers = boxTransferRepository.findByEventId(event.getId());
+        assertEquals(1, transfers.size());
+        assertNotNull(transfers.get(0).getRateSnapshotId());
+        ExchangeRateSnapshot snapshot = snapshotRepository.findById(transfers.get(0).getRateSnapshotId()).orElseThrow();
+        assertEquals(Currency.GBP, snapshot.getBaseCurrency());
+        assertEquals(0, new BigDecimal("112.50").compareTo(transfers.get(0).getAmount()),
+                "Transferred " + transfers.get(0).getAmount());
+    }
+
+    private BoxDto boxWithMoney(String identifier, FundraisingEvent event) {
+        BoxDto box = boxService.registerBox(new CreateBoxRequest(identifier));
+        boxService.assignBoxToEvent(box.getId(), event.getId());
+        boxService.addMoneyToBox(box.getId(), new AddMoneyRequest(Currency.EUR, new BigDecimal("100.00")));
+        boxService.addMoneyToBox(box.getId(), new AddMoneyRequest(Currency.GBP, new BigDecimal("50.00")));
+        return box;
+    }
+
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/latest/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                requests.add(path);
+                byte[] body = (path.endsWith("/GBP") ? GBP_RATES : USD_RATES).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -3,16 +3,20 @@ package com.fundraising.service;
 import com.fundraising.dto.CreateEventRequest;
 import com.fundraising.dto.FundraisingEventDTO;
 import com.fundraising.dto.FundraisingEventDTO;
+import com.fundraising.dto.FundraisingEventReport;
 import com.fundraising.entity.FundraisingEvent;
 import com.fundraising.enums.Currency;
 import com.fundraising.exception.DuplicateEventNameException;
 import com.fundraising.mapper.FundraisingEventMapper;
+import com.fundraising.repository.BoxCurrencyRepository;
 import com.fundraising.repository.FundraisingEventRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -33,6 +37,12 @@ class FundraisingEventServiceTest {
     @Mock
     private FundraisingEventMapper mapper;
 
+    @Mock
+    private BoxCurrencyRepository boxCurrencyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private FundraisingEventService service;
 
     @BeforeEach
@@ -47,6 +57,18 @@ class FundraisingEventServiceTest {
             java.lang.reflect.Field mapperField = FundraisingEventService.class.getDeclaredField("mapper");
             mapperField.setAccessible(true);
             mapperField.set(service, mapper);
+
+            java.lang.reflect.Field boxCurrencyField = FundraisingEventService.class.getDeclaredField("boxCurrencyRepository");
+            boxCurrencyField.setAccessible(true);
+            boxCurrencyField.set(service, boxCurrencyRepository);
+
+            java.lang.reflect.Field converterField = FundraisingEventService.class.getDeclaredField("currencyConverter");
+            converterField.setAccessible(true);
+            converterField.set(service, new CurrencyConversionService());
+
+            java.lang.reflect.Field publisherField = FundraisingEventService.class.getDeclaredField("eventPublisher");
+            publisherField.setAccessible(true);
+            publisherField.set(service, eventPublisher);
         } catch (Exception e) {
             throw new RuntimeException("Failed to set up test", e);
         }
@@ -75,6 +97,7 @@ class FundraisingEventServiceTest {
         assertEquals(BigDecimal.ZERO, result.getBalance());
 
         verify(repository).existsByNameIgnoreCase("Charity Run");
+        verify(eventPublisher).publishEvent(new FundraisingEventChanged(1L));
         verify(mapper).toEntity(request);
         verify(repository).save(entity);
         verify(mapper).toDto(entity);
@@ -176,4 +199,36 @@ class FundraisingEventServiceTest {
         assertThrows(DuplicateEventNameException.class, () -> service.createEvent(request));
         verify(repository).existsByNameIgnoreCase("charity run");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReportBalanceAndPendingMoneyPerEvent() {
+        // Given
+        FundraisingEvent run = new FundraisingEvent("Charity Run", Currency.USD);
+        run.setId(1L);
+        run.setBalance(new BigDecimal("100.00"));
+        FundraisingEvent gala = new FundraisingEvent("Gala", Currency.EUR);
+        gala.setId(2L);
+
+        when(boxCurrencyRepository.sumAssignedAmountsByEventAndCurrency()).thenReturn(List.of(
+                new Object[]{1L, Currency.USD, new BigDecimal("20.00")},
+                new Object[]{1L, Currency.EUR, new BigDecimal("10.00")}
+        ));
+        when(repository.findAll(any(Sort.class))).thenReturn(Arrays.asList(run, gala));
+
+        // When
+        List<FundraisingEventReport> report = service.getFinancialReport();
+
+        // Then
+        assertEquals(2, report.size());
+        FundraisingEventReport runReport = report.get(0);
+        assertEquals(new BigDecimal("20.00"), runReport.getPendingByCurrency().get(Currency.USD));
+        assertEquals(new BigDecimal("10.00"), runReport.getPendingByCurrency().get(Currency.EUR));
+        assertEquals(new BigDecimal("31.80"), runReport.getPendingAmount());
+        assertEquals(new BigDecimal("131.80"), runReport.getTotalAmount());
+
+        FundraisingEventReport galaReport = report.get(1);
+        assertTrue(galaReport.getPendingByCurrency().isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(galaReport.getTotalAmount()));
+        verify(boxCurrencyRepository, times(1)).sumAssignedAmountsByEventAndCurrency();
+    }
+}
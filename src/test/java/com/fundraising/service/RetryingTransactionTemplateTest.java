@@ -0,0 +1,75 @@
+package com.fundraising.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryingTransactionTemplateTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RetryingTransactionTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        template = new RetryingTransactionTemplate(transactionManager, 3, 1, 4);
+    }
+
+    @Test
+    void shouldRetryConflictsInNewTransactions() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = template.execute(status -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale event");
+            }
+            return "done";
+        });
+
+        // Then
+        assertEquals("done", result);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(CannotAcquireLockException.class, () -> template.execute(status -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> template.execute(status -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Box is already empty");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}